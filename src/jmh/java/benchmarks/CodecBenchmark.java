@@ -0,0 +1,75 @@
+package benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import core.http.JsonCodec;
+import model.BookModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the String-based request/response path RestClient used to take with the cached-reader, byte[] codec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"false", "true"})
+    public boolean blackbird;
+
+    private final ObjectMapper legacyMapper = new ObjectMapper();
+    private JsonCodec codec;
+    private ObjectReader listReader;
+    private BookModel book;
+    private byte[] booksJson;
+
+    @Setup
+    public void setup() throws IOException {
+        codec = new JsonCodec(blackbird);
+        listReader = codec.reader(new TypeReference<List<BookModel>>() {
+        });
+        book = Fixtures.book(1);
+        booksJson = legacyMapper.writeValueAsBytes(Fixtures.books(200));
+    }
+
+    @Benchmark
+    public byte[] legacyWriteBook() throws IOException {
+        return legacyMapper.writeValueAsString(book).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] codecWriteBook() throws IOException {
+        return codec.write(book);
+    }
+
+    @Benchmark
+    public List<BookModel> legacyReadBooks() throws IOException {
+        String body = new String(booksJson, StandardCharsets.UTF_8);
+        return legacyMapper.readValue(body, new TypeReference<List<BookModel>>() {
+        });
+    }
+
+    @Benchmark
+    public List<BookModel> codecReadBooks() throws IOException {
+        return codec.read(booksJson, listReader);
+    }
+}
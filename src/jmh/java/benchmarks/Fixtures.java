@@ -0,0 +1,40 @@
+package benchmarks;
+
+import model.AuthorsModel;
+import model.BookModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class Fixtures {
+
+    private static final String DESCRIPTION = "Lorem lorem lorem. Lorem lorem lorem. Lorem lorem lorem.\n".repeat(4);
+    private static final String EXCERPT = "Lorem lorem lorem. Lorem lorem lorem. Lorem lorem lorem.\n".repeat(20);
+
+    private Fixtures() {
+    }
+
+    static BookModel book(int id) {
+        return new BookModel(id, "Book " + id, DESCRIPTION, id * 100, EXCERPT, "2025-08-01T10:15:30.000Z");
+    }
+
+    static AuthorsModel author(int id) {
+        return new AuthorsModel(id, (id + 1) / 2, "First Name " + id, "Last Name " + id);
+    }
+
+    static List<BookModel> books(int count) {
+        List<BookModel> books = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            books.add(book(i));
+        }
+        return books;
+    }
+
+    static List<AuthorsModel> authors(int count) {
+        List<AuthorsModel> authors = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            authors.add(author(i));
+        }
+        return authors;
+    }
+}
@@ -0,0 +1,78 @@
+package benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import core.http.JsonCodec;
+import model.AuthorsModel;
+import model.BookModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelSerializationBenchmark {
+
+    private final JsonCodec codec = JsonCodec.getDefault();
+    private ObjectReader bookReader;
+    private ObjectReader authorReader;
+    private ObjectReader authorsReader;
+    private BookModel book;
+    private AuthorsModel author;
+    private byte[] bookJson;
+    private byte[] authorJson;
+    private byte[] authorsJson;
+
+    @Setup
+    public void setup() throws IOException {
+        bookReader = codec.reader(BookModel.class);
+        authorReader = codec.reader(AuthorsModel.class);
+        authorsReader = codec.reader(new TypeReference<List<AuthorsModel>>() {
+        });
+        book = Fixtures.book(1);
+        author = Fixtures.author(1);
+        bookJson = codec.write(book);
+        authorJson = codec.write(author);
+        authorsJson = codec.write(Fixtures.authors(600));
+    }
+
+    @Benchmark
+    public byte[] writeBook() throws IOException {
+        return codec.write(book);
+    }
+
+    @Benchmark
+    public BookModel readBook() throws IOException {
+        return codec.read(bookJson, bookReader);
+    }
+
+    @Benchmark
+    public byte[] writeAuthor() throws IOException {
+        return codec.write(author);
+    }
+
+    @Benchmark
+    public AuthorsModel readAuthor() throws IOException {
+        return codec.read(authorJson, authorReader);
+    }
+
+    @Benchmark
+    public List<AuthorsModel> readAllAuthors() throws IOException {
+        return codec.read(authorsJson, authorsReader);
+    }
+}
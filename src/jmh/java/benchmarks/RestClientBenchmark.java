@@ -0,0 +1,70 @@
+package benchmarks;
+
+import core.http.ClientExecutors;
+import core.http.RestClient;
+import model.BookModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import services.BooksService;
+import stub.FakeRestApiServer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full HTTP round trips through RestClient against the in-process FakeRestAPI stub.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestClientBenchmark {
+
+    private FakeRestApiServer stub;
+    private BooksService books;
+    private BookModel book;
+
+    @Setup
+    public void setup() throws IOException {
+        stub = new FakeRestApiServer(0, false);
+        books = new BooksService(new RestClient(stub.getBaseUrl(), ClientExecutors.shared()));
+        book = Fixtures.book(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        stub.close();
+    }
+
+    @Benchmark
+    public List<BookModel> getAll() throws IOException, InterruptedException {
+        return books.getAll().getBody();
+    }
+
+    @Benchmark
+    public int getAllStatusOnly() throws IOException, InterruptedException {
+        return books.getAll().getStatusCode();
+    }
+
+    @Benchmark
+    public BookModel getByID() throws IOException, InterruptedException {
+        return books.getByID(1).getBody();
+    }
+
+    @Benchmark
+    public BookModel post() {
+        return books.create(book).getBody();
+    }
+}
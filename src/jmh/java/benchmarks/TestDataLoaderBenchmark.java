@@ -0,0 +1,37 @@
+package benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import model.AuthorsModel;
+import model.BookModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import testData.JsonDataLoader;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestDataLoaderBenchmark {
+
+    @Benchmark
+    public List<BookModel> loadBookPostData() throws IOException {
+        return JsonDataLoader.loadFromJson("/book_post_positive_data.json", new TypeReference<List<BookModel>>() {
+        }).toList();
+    }
+
+    @Benchmark
+    public List<AuthorsModel> loadAuthorPostData() throws IOException {
+        return JsonDataLoader.loadFromJson("/author_post_positive_data.json", new TypeReference<List<AuthorsModel>>() {
+        }).toList();
+    }
+}
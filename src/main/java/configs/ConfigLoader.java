@@ -2,11 +2,11 @@ package configs;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
 import java.util.Properties;
 
 public class ConfigLoader {
     private static final Properties properties = new Properties();
-    private static final String BASE_URL = getProperty("api.url");
 
     static {
         try (InputStream input = ConfigLoader.class.getClassLoader().getResourceAsStream("application.properties")) {
@@ -19,8 +19,39 @@ public class ConfigLoader {
         }
     }
 
+    private static final String BASE_URL = getProperty("api.url");
+
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return System.getProperty(key, properties.getProperty(key));
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    public static Duration getMillis(String key, Duration defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Duration.ofMillis(Long.parseLong(value.trim()));
+    }
+
+    public static <E extends Enum<E>> E getEnum(String key, Class<E> type, E defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Enum.valueOf(type, value.trim().toUpperCase());
+    }
+
+    public static String getBaseUrl() {
+        return BASE_URL;
     }
 
     public static String getBooksUrl() {
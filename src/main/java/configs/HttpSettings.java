@@ -0,0 +1,114 @@
+package configs;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Typed {@code HttpClient} settings read from {@code application.properties}.
+ * <p>
+ * {@code http.version} prefers {@code HTTP_2} (multiplexed streams over one connection per host, falling back to
+ * HTTP/1.1 when the server does not negotiate it). Pool and stream limits are JDK-wide system properties, so they
+ * are applied once, before the first client is built, and only when not already set on the command line.
+ * Request body compression is off by default because not every server accepts {@code Content-Encoding} on requests.
+ */
+public final class HttpSettings {
+
+    private static final HttpSettings CURRENT = fromConfig();
+
+    private final HttpClient.Version version;
+    private final Duration connectTimeout;
+    private final String executor;
+    private final boolean dedicatedExecutor;
+    private final int poolSize;
+    private final long keepAliveSeconds;
+    private final int maxStreams;
+    private final boolean responseCompression;
+    private final int requestCompressionMinBytes;
+
+    public HttpSettings(HttpClient.Version version, Duration connectTimeout, String executor, boolean dedicatedExecutor,
+                        int poolSize, long keepAliveSeconds, int maxStreams, boolean responseCompression,
+                        int requestCompressionMinBytes) {
+        this.version = version;
+        this.connectTimeout = connectTimeout;
+        this.executor = executor;
+        this.dedicatedExecutor = dedicatedExecutor;
+        this.poolSize = poolSize;
+        this.keepAliveSeconds = keepAliveSeconds;
+        this.maxStreams = maxStreams;
+        this.responseCompression = responseCompression;
+        this.requestCompressionMinBytes = requestCompressionMinBytes;
+    }
+
+    public static HttpSettings current() {
+        return CURRENT;
+    }
+
+    public static HttpSettings fromConfig() {
+        HttpSettings settings = new HttpSettings(
+                ConfigLoader.getEnum("http.version", HttpClient.Version.class, HttpClient.Version.HTTP_2),
+                ConfigLoader.getMillis("http.connectTimeout.ms", Duration.ofSeconds(10)),
+                ConfigLoader.getProperty("http.executor"),
+                ConfigLoader.getBoolean("http.executor.dedicated", false),
+                ConfigLoader.getInt("http.pool.size", 0),
+                ConfigLoader.getLong("http.pool.keepalive.seconds", 30),
+                ConfigLoader.getInt("http.h2.maxStreams", 100),
+                ConfigLoader.getBoolean("http.compression.enabled", true),
+                ConfigLoader.getInt("http.compression.request.minBytes", 0));
+        settings.applyToSystem();
+        return settings;
+    }
+
+    private void applyToSystem() {
+        setIfAbsent("jdk.httpclient.connectionPoolSize", String.valueOf(poolSize));
+        setIfAbsent("jdk.httpclient.keepalive.timeout", String.valueOf(keepAliveSeconds));
+        setIfAbsent("jdk.httpclient.maxstreams", String.valueOf(maxStreams));
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    public HttpClient.Version getVersion() {
+        return version;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public String getExecutor() {
+        return executor;
+    }
+
+    public boolean isDedicatedExecutor() {
+        return dedicatedExecutor;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public long getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    public int getMaxStreams() {
+        return maxStreams;
+    }
+
+    /**
+     * Whether requests advertise {@code Accept-Encoding: gzip, deflate}.
+     */
+    public boolean isResponseCompression() {
+        return responseCompression;
+    }
+
+    /**
+     * Request bodies at least this large are sent gzip encoded; {@code 0} never compresses them.
+     */
+    public int getRequestCompressionMinBytes() {
+        return requestCompressionMinBytes;
+    }
+}
@@ -0,0 +1,49 @@
+package core.collections;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of unboxed {@code int}s.
+ */
+public final class IntArrayList {
+
+    private int[] values;
+    private int size;
+
+    public IntArrayList() {
+        this(16);
+    }
+
+    public IntArrayList(int initialCapacity) {
+        values = new int[Math.max(1, initialCapacity)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length + (values.length >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The backing array, valid up to {@link #size()}; for bulk reads without copying.
+     */
+    public int[] elements() {
+        return values;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,101 @@
+package core.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing set of {@code int}s with linear probing. Keys are stored unboxed in a single array, so tens of
+ * millions of ids cost about 8 bytes each at the default load factor. Not thread-safe for writers; once filled it
+ * may be read from any number of threads.
+ */
+public final class IntHashSet {
+
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private int size;
+    private int resizeAt;
+    private boolean containsEmpty;
+
+    public IntHashSet() {
+        this(16);
+    }
+
+    public IntHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Adds {@code key}, returning {@code false} if it was already present.
+     */
+    public boolean add(int key) {
+        if (key == EMPTY) {
+            if (containsEmpty) {
+                return false;
+            }
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size >= resizeAt) {
+            rehash();
+        }
+        return true;
+    }
+
+    public boolean contains(int key) {
+        if (key == EMPTY) {
+            return containsEmpty;
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        int current;
+        while ((current = keys[slot]) != EMPTY) {
+            if (current == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void rehash() {
+        int[] old = keys;
+        allocate(old.length << 1);
+        size = containsEmpty ? 1 : 0;
+        for (int key : old) {
+            if (key != EMPTY) {
+                add(key);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,157 @@
+package core.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from {@code int} to {@code long} with linear probing; keys and values are stored unboxed
+ * in parallel arrays. Not thread-safe for writers.
+ */
+public final class IntLongHashMap {
+
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final long missingValue;
+    private int[] keys;
+    private long[] values;
+    private int size;
+    private int resizeAt;
+    private boolean containsEmpty;
+    private long emptyKeyValue;
+
+    /**
+     * @param missingValue returned by {@link #get(int)} and {@link #put(int, long)} for absent keys
+     */
+    public IntLongHashMap(int expectedSize, long missingValue) {
+        this.missingValue = missingValue;
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int key, long value);
+    }
+
+    /**
+     * Associates {@code value} with {@code key}, returning the previous value or the missing value.
+     */
+    public long put(int key, long value) {
+        return insert(key, value, true);
+    }
+
+    /**
+     * Associates {@code value} with {@code key} only if the key is absent, returning the current value or the
+     * missing value.
+     */
+    public long putIfAbsent(int key, long value) {
+        return insert(key, value, false);
+    }
+
+    private long insert(int key, long value, boolean replace) {
+        if (key == EMPTY) {
+            long previous = containsEmpty ? emptyKeyValue : missingValue;
+            if (!containsEmpty) {
+                containsEmpty = true;
+                size++;
+                emptyKeyValue = value;
+            } else if (replace) {
+                emptyKeyValue = value;
+            }
+            return previous;
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                long previous = values[slot];
+                if (replace) {
+                    values[slot] = value;
+                }
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            rehash();
+        }
+        return missingValue;
+    }
+
+    public long get(int key) {
+        if (key == EMPTY) {
+            return containsEmpty ? emptyKeyValue : missingValue;
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        int current;
+        while ((current = keys[slot]) != EMPTY) {
+            if (current == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == EMPTY) {
+            return containsEmpty;
+        }
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        int current;
+        while ((current = keys[slot]) != EMPTY) {
+            if (current == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        if (containsEmpty) {
+            consumer.accept(EMPTY, emptyKeyValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        size = containsEmpty ? 1 : 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,78 @@
+package core.http;
+
+import configs.ConfigLoader;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors used by {@link RestClient} for async exchanges.
+ * <p>
+ * {@code http.executor} selects the kind: {@code virtual} (default), {@code cached} or {@code fixed:N}.
+ * Virtual threads need JDK 21+; on older runtimes {@code virtual} falls back to a cached daemon pool.
+ */
+public final class ClientExecutors {
+
+    private static volatile ExecutorService shared;
+
+    private ClientExecutors() {
+    }
+
+    public static ExecutorService shared() {
+        ExecutorService executor = shared;
+        if (executor == null) {
+            synchronized (ClientExecutors.class) {
+                executor = shared;
+                if (executor == null) {
+                    executor = fromConfig(ConfigLoader.getProperty("http.executor"));
+                    shared = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    public static void shutdownShared() {
+        synchronized (ClientExecutors.class) {
+            if (shared != null) {
+                shared.shutdown();
+                shared = null;
+            }
+        }
+    }
+
+    public static ExecutorService fromConfig(String kind) {
+        if (kind == null || kind.isBlank() || kind.equals("virtual")) {
+            return virtual();
+        }
+        if (kind.equals("cached")) {
+            return Executors.newCachedThreadPool(daemonThreads("rest-client"));
+        }
+        if (kind.startsWith("fixed:")) {
+            int size = Integer.parseInt(kind.substring("fixed:".length()).trim());
+            return Executors.newFixedThreadPool(size, daemonThreads("rest-client"));
+        }
+        throw new IllegalArgumentException("Unknown http.executor: " + kind);
+    }
+
+    public static ExecutorService virtual() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(daemonThreads("rest-client"));
+        }
+    }
+
+    public static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,260 @@
+package core.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * gzip/deflate support for {@link RestClient}. Response bodies are inflated chunk by chunk as they arrive,
+ * so the downstream body subscriber (a byte array or the stream Jackson reads from) only ever sees plain JSON
+ * and the compressed body is never buffered as a whole. {@code deflate} is accepted both zlib-wrapped, as
+ * RFC 9110 specifies, and raw, as some servers send it.
+ */
+final class Compression {
+
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private Compression() {
+    }
+
+    static boolean isSupported(String encoding) {
+        return encoding != null && (isGzip(encoding) || "deflate".equalsIgnoreCase(encoding.trim()));
+    }
+
+    /**
+     * Whether a response needs inflating: HEAD responses and 1xx, 204 and 304 statuses never carry a body,
+     * whatever their {@code Content-Encoding} says.
+     */
+    static boolean isEncodedBody(String method, int status, String encoding) {
+        return isSupported(encoding) && !"HEAD".equalsIgnoreCase(method) && status >= 200 && status != 204 && status != 304;
+    }
+
+    /**
+     * Wraps {@code downstream} in a subscriber that inflates a gzip or deflate body, adding the number of
+     * inflated bytes to {@code inflated}.
+     */
+    static <T> HttpResponse.BodySubscriber<T> inflating(String encoding, HttpResponse.BodySubscriber<T> downstream, AtomicLong inflated) {
+        return new InflatingSubscriber<>(downstream, isGzip(encoding), inflated);
+    }
+
+    private static boolean isGzip(String encoding) {
+        return "gzip".equalsIgnoreCase(encoding.trim()) || "x-gzip".equalsIgnoreCase(encoding.trim());
+    }
+
+    static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 4 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes, 8192)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static final class InflatingSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+        private static final int GZIP_TRAILER = 8;
+        private static final int ZLIB_HEADER = 2;
+
+        private final HttpResponse.BodySubscriber<T> downstream;
+        private final boolean gzip;
+        private final AtomicLong inflated;
+        private final CRC32 crc = new CRC32();
+        private final byte[] chunk = new byte[16 * 1024];
+        private Inflater inflater;
+        private ByteArrayOutputStream header = new ByteArrayOutputStream(16);
+        private ByteArrayOutputStream trailer;
+        private Flow.Subscription subscription;
+        private boolean received;
+        private boolean failed;
+
+        InflatingSubscriber(HttpResponse.BodySubscriber<T> downstream, boolean gzip, AtomicLong inflated) {
+            this.downstream = downstream;
+            this.gzip = gzip;
+            this.inflated = inflated;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            if (failed) {
+                return;
+            }
+            List<ByteBuffer> out = new ArrayList<>();
+            try {
+                for (ByteBuffer buffer : item) {
+                    inflate(buffer, out);
+                }
+            } catch (IOException | DataFormatException e) {
+                failed = true;
+                subscription.cancel();
+                end();
+                downstream.onError(e instanceof IOException ? e : new IOException("Corrupt compressed response body", e));
+                return;
+            }
+            if (out.isEmpty()) {
+                // nothing to hand on yet; the downstream demand for this item is still open
+                subscription.request(1);
+                return;
+            }
+            downstream.onNext(out);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            end();
+            if (!failed) {
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (failed) {
+                return;
+            }
+            if (!received) {
+                // a zero-byte body is passed through as is, whatever its Content-Encoding says
+                downstream.onComplete();
+                return;
+            }
+            boolean complete = inflater != null && inflater.finished() && (!gzip || trailer != null && trailer.size() >= GZIP_TRAILER);
+            end();
+            if (!complete) {
+                downstream.onError(new IOException("Truncated compressed response body"));
+                return;
+            }
+            downstream.onComplete();
+        }
+
+        private void end() {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+
+        private void inflate(ByteBuffer buffer, List<ByteBuffer> out) throws IOException, DataFormatException {
+            received |= buffer.hasRemaining();
+            if (header != null) {
+                while (buffer.hasRemaining() && header != null) {
+                    header.write(buffer.get());
+                    if (gzip && gzipHeaderLength(header.toByteArray()) > 0) {
+                        header = null;
+                        inflater = new Inflater(true);
+                    } else if (!gzip && header.size() == ZLIB_HEADER) {
+                        byte[] start = header.toByteArray();
+                        header = null;
+                        inflater = new Inflater(!isZlibHeader(start));
+                        inflateBody(ByteBuffer.wrap(start), out);
+                    }
+                }
+            }
+            if (header != null || !buffer.hasRemaining()) {
+                return;
+            }
+            inflateBody(buffer, out);
+        }
+
+        private void inflateBody(ByteBuffer buffer, List<ByteBuffer> out) throws IOException, DataFormatException {
+            if (inflater.finished()) {
+                readTrailer(buffer);
+                return;
+            }
+            inflater.setInput(buffer);
+            while (!inflater.finished() && !inflater.needsInput()) {
+                int n = inflater.inflate(chunk);
+                if (n == 0 && inflater.needsDictionary()) {
+                    throw new IOException("Compressed response body needs a preset dictionary");
+                }
+                if (n > 0) {
+                    crc.update(chunk, 0, n);
+                    inflated.addAndGet(n);
+                    out.add(ByteBuffer.wrap(chunk.clone(), 0, n));
+                }
+            }
+            if (inflater.finished() && gzip) {
+                readTrailer(buffer);
+            }
+        }
+
+        private void readTrailer(ByteBuffer buffer) throws IOException {
+            if (!gzip) {
+                return;
+            }
+            if (trailer == null) {
+                trailer = new ByteArrayOutputStream(GZIP_TRAILER);
+            }
+            while (buffer.hasRemaining() && trailer.size() < GZIP_TRAILER) {
+                trailer.write(buffer.get());
+            }
+            if (trailer.size() == GZIP_TRAILER) {
+                ByteBuffer values = ByteBuffer.wrap(trailer.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+                if ((values.getInt() & 0xFFFFFFFFL) != crc.getValue() || values.getInt() != (int) inflater.getBytesWritten()) {
+                    throw new IOException("gzip trailer does not match the response body");
+                }
+            }
+        }
+
+        /**
+         * Whether a deflate body starts with a zlib header (RFC 1950): compression method 8 and a check value
+         * that makes the first two bytes a multiple of 31. A raw deflate stream practically never does.
+         */
+        private static boolean isZlibHeader(byte[] bytes) {
+            return (bytes[0] & 0x0F) == 8 && (bytes[0] & 0xF0) <= 0x70 && ((bytes[0] & 0xFF) << 8 | (bytes[1] & 0xFF)) % 31 == 0;
+        }
+
+        /**
+         * Length of a complete gzip member header (RFC 1952), or -1 while more bytes are needed.
+         */
+        private static int gzipHeaderLength(byte[] bytes) throws IOException {
+            if (bytes.length < 10) {
+                return -1;
+            }
+            if ((bytes[0] & 0xFF) != 0x1F || (bytes[1] & 0xFF) != 0x8B || bytes[2] != 8) {
+                throw new IOException("Response body is not in gzip format");
+            }
+            int flags = bytes[3];
+            int position = 10;
+            if ((flags & 4) != 0) {
+                if (bytes.length < position + 2) {
+                    return -1;
+                }
+                position += 2 + ((bytes[position] & 0xFF) | (bytes[position + 1] & 0xFF) << 8);
+            }
+            for (int flag : new int[]{8, 16}) {
+                if ((flags & flag) != 0) {
+                    while (position < bytes.length && bytes[position] != 0) {
+                        position++;
+                    }
+                    position++;
+                }
+            }
+            if ((flags & 2) != 0) {
+                position += 2;
+            }
+            return bytes.length >= position ? position : -1;
+        }
+    }
+}
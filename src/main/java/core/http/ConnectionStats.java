@@ -0,0 +1,51 @@
+package core.http;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-client view of how exchanges used the connection pool: which protocol each response came back on and the
+ * peak number of exchanges in flight at once. Many concurrent exchanges all answered over HTTP/2 means they were
+ * multiplexed as streams rather than each holding its own HTTP/1.1 connection.
+ */
+public final class ConnectionStats {
+
+    private final LongAdder http2Responses = new LongAdder();
+    private final LongAdder http11Responses = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    void onSend() {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    }
+
+    void onComplete(HttpResponse<?> response) {
+        inFlight.decrementAndGet();
+        if (response == null) {
+            return;
+        }
+        if (response.version() == HttpClient.Version.HTTP_2) {
+            http2Responses.increment();
+        } else {
+            http11Responses.increment();
+        }
+    }
+
+    public long getHttp2Responses() {
+        return http2Responses.sum();
+    }
+
+    public long getHttp11Responses() {
+        return http11Responses.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+}
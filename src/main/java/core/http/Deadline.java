@@ -0,0 +1,63 @@
+package core.http;
+
+import java.time.Duration;
+
+/**
+ * Overall time budget for a chain of calls, e.g. a create-then-read workflow in a service.
+ * <p>
+ * Entering a deadline makes it current for the calling thread; every {@link RestClient} call started inside the
+ * scope caps its request timeout, retries and waits at the remaining budget, and fails with
+ * {@link RequestTimeoutException} once it is spent. Nested scopes keep whichever deadline is earlier.
+ * <pre>{@code
+ * try (Deadline.Scope scope = Deadline.after(Duration.ofSeconds(5)).enter()) {
+ *     books.create(book);
+ *     books.getByID(book.id);
+ * }
+ * }</pre>
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAt;
+
+    private Deadline(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * The deadline of the innermost scope on this thread, or {@code null} outside any scope.
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public Scope enter() {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(previous != null && previous.expiresAt - expiresAt < 0 ? previous : this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAt - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAt - System.nanoTime() <= 0;
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
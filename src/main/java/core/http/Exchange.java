@@ -0,0 +1,133 @@
+package core.http;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-call bookkeeping for one HTTP exchange: measures time to first byte and bytes on the wire (and before compression), then reports
+ * a single {@link RequestEvent} to the client's listeners, followed by decoding time once the body is read.
+ */
+final class Exchange {
+
+    interface Decoder<T> {
+        T decode(byte[] body) throws IOException;
+    }
+
+    private final String method;
+    private final String path;
+    private final long bytesSent;
+    private final long uncompressedBytesSent;
+    private final int attempt;
+    private final List<RequestListener> listeners;
+    private final long start = System.nanoTime();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong bytesInflated = new AtomicLong();
+    private volatile boolean compressed;
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private volatile long firstByte;
+    private volatile RequestEvent event;
+
+    Exchange(String method, String path, long bytesSent, long uncompressedBytesSent, int attempt, List<RequestListener> listeners) {
+        this.method = method;
+        this.path = path;
+        this.bytesSent = bytesSent;
+        this.uncompressedBytesSent = uncompressedBytesSent;
+        this.attempt = attempt;
+        this.listeners = listeners;
+    }
+
+    /**
+     * Counts bytes as they come off the wire and inflates gzip/deflate bodies before {@code handler} sees them.
+     */
+    <T> HttpResponse.BodyHandler<T> counting(HttpResponse.BodyHandler<T> handler) {
+        return info -> {
+            firstByte = System.nanoTime();
+            HttpResponse.BodySubscriber<T> subscriber = handler.apply(info);
+            String encoding = info.headers().firstValue("Content-Encoding").orElse(null);
+            if (Compression.isEncodedBody(method, info.statusCode(), encoding)) {
+                compressed = true;
+                subscriber = Compression.inflating(encoding, subscriber, bytesInflated);
+            }
+            return new CountingSubscriber<>(subscriber, bytesReceived);
+        };
+    }
+
+    void decoded(long nanos) {
+        RequestEvent completed = event;
+        if (completed == null) {
+            return;
+        }
+        for (RequestListener listener : listeners) {
+            try {
+                listener.onDecode(completed, nanos);
+            } catch (RuntimeException e) {
+                // a broken listener must not fail the caller reading the body
+            }
+        }
+    }
+
+    void finish(int statusCode, Throwable error) {
+        if (!finished.compareAndSet(false, true) || listeners.isEmpty()) {
+            return;
+        }
+        long end = System.nanoTime();
+        long ttfb = firstByte == 0 ? 0 : firstByte - start;
+        event = new RequestEvent(method, path, PathTemplates.of(path), statusCode, ttfb, end - start,
+                bytesSent, bytesReceived.get(), uncompressedBytesSent, compressed ? bytesInflated.get() : bytesReceived.get(),
+                attempt, error);
+        for (RequestListener listener : listeners) {
+            try {
+                listener.onComplete(event);
+            } catch (RuntimeException e) {
+                // a broken listener must not fail the request it observes
+            }
+        }
+    }
+
+    private static final class CountingSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+        private final HttpResponse.BodySubscriber<T> delegate;
+        private final AtomicLong counter;
+
+        CountingSubscriber(HttpResponse.BodySubscriber<T> delegate, AtomicLong counter) {
+            this.delegate = delegate;
+            this.counter = counter;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            delegate.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            long size = 0;
+            for (ByteBuffer buffer : item) {
+                size += buffer.remaining();
+            }
+            counter.addAndGet(size);
+            delegate.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            delegate.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            delegate.onComplete();
+        }
+    }
+}
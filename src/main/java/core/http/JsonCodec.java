@@ -0,0 +1,107 @@
+package core.http;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import configs.ConfigLoader;
+import model.AuthorsModel;
+import model.BookModel;
+import model.ErrorModel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * JSON codec with one cached {@link ObjectReader}/{@link ObjectWriter} per type.
+ * <p>
+ * Bodies are written straight to UTF-8 bytes; Jackson recycles its internal buffers between calls.
+ * Set {@code json.blackbird=true} to register the Blackbird module for generated accessors.
+ */
+public class JsonCodec {
+
+    private static final JsonCodec DEFAULT = new JsonCodec(Boolean.parseBoolean(ConfigLoader.getProperty("json.blackbird")));
+
+    private final ObjectMapper mapper;
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public JsonCodec(boolean blackbird) {
+        this.mapper = new ObjectMapper();
+        if (blackbird) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+        for (Class<?> model : List.of(BookModel.class, AuthorsModel.class, ErrorModel.class)) {
+            reader(model);
+            writers.put(model, mapper.writerFor(model));
+        }
+        reader(new TypeReference<List<BookModel>>() {
+        });
+        reader(new TypeReference<List<AuthorsModel>>() {
+        });
+    }
+
+    public static JsonCodec getDefault() {
+        return DEFAULT;
+    }
+
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    public JavaType type(Type type) {
+        return mapper.getTypeFactory().constructType(type);
+    }
+
+    public ObjectReader reader(Class<?> type) {
+        return readers.computeIfAbsent(type, key -> mapper.readerFor(type));
+    }
+
+    public ObjectReader reader(TypeReference<?> typeRef) {
+        return readers.computeIfAbsent(typeRef.getType(), key -> mapper.readerFor(typeRef));
+    }
+
+    public ObjectReader reader(JavaType type) {
+        return readers.computeIfAbsent(type, key -> mapper.readerFor(type));
+    }
+
+    public ObjectWriter writer(Class<?> type) {
+        return writers.computeIfAbsent(type, mapper::writerFor);
+    }
+
+    public byte[] write(Object value) throws IOException {
+        if (value == null) {
+            return mapper.writeValueAsBytes(null);
+        }
+        return writer(value.getClass()).writeValueAsBytes(value);
+    }
+
+    public <T> T read(byte[] body, ObjectReader reader) throws IOException {
+        if (isBlank(body)) {
+            return null;
+        }
+        return reader.readValue(body);
+    }
+
+    public <T> T read(InputStream body, ObjectReader reader) throws IOException {
+        return reader.readValue(body);
+    }
+
+    static boolean isBlank(byte[] body) {
+        if (body == null) {
+            return true;
+        }
+        for (byte b : body) {
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,85 @@
+package core.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a top-level JSON array one element at a time.
+ * <p>
+ * The returned stream owns the input: closing the stream closes the parser and the underlying {@link InputStream}.
+ */
+public final class JsonStreams {
+
+    private JsonStreams() {
+    }
+
+    public static <T> Stream<T> elements(JsonCodec codec, InputStream input, JavaType elementType) throws IOException {
+        JsonParser parser = codec.getMapper().getFactory().createParser(input);
+        try {
+            JsonToken first = parser.nextToken();
+            if (first == null) {
+                parser.close();
+                return Stream.empty();
+            }
+            if (first != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array but got " + first);
+            }
+        } catch (IOException e) {
+            parser.close();
+            throw e;
+        }
+
+        ObjectReader reader = codec.reader(elementType);
+        Iterator<T> iterator = new Iterator<>() {
+            private JsonToken next = advance();
+
+            private JsonToken advance() {
+                try {
+                    return parser.nextToken();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null && next != JsonToken.END_ARRAY;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    T value = reader.readValue(parser);
+                    next = advance();
+                    return value;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        parser.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+}
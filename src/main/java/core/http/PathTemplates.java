@@ -0,0 +1,20 @@
+package core.http;
+
+import java.util.regex.Pattern;
+
+/**
+ * Collapses concrete ids in request paths, e.g. {@code /api/v1/Books/12} becomes {@code /api/v1/Books/{id}}.
+ */
+public final class PathTemplates {
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("/-?\\d+(?=/|$)");
+
+    private PathTemplates() {
+    }
+
+    public static String of(String path) {
+        int query = path.indexOf('?');
+        String withoutQuery = query < 0 ? path : path.substring(0, query);
+        return ID_SEGMENT.matcher(withoutQuery).replaceAll("/{id}");
+    }
+}
@@ -0,0 +1,95 @@
+package core.http;
+
+/**
+ * Timings and sizes of one HTTP exchange. Durations are in nanoseconds; {@code statusCode} is -1 when the
+ * exchange failed before a response arrived.
+ * {@code bytesSent}/{@code bytesReceived} are on the wire; the uncompressed sizes equal them unless a body
+ * was gzip/deflate encoded. Retries are reported as separate events with {@code attempt > 1}.
+ */
+public class RequestEvent {
+
+    private final String method;
+    private final String path;
+    private final String pathTemplate;
+    private final int statusCode;
+    private final long timeToFirstByteNanos;
+    private final long totalNanos;
+    private final long bytesSent;
+    private final long bytesReceived;
+    private final long uncompressedBytesSent;
+    private final long uncompressedBytesReceived;
+    private final int attempt;
+    private final Throwable error;
+
+    public RequestEvent(String method, String path, String pathTemplate, int statusCode, long timeToFirstByteNanos,
+                        long totalNanos, long bytesSent, long bytesReceived, int attempt,
+                        Throwable error) {
+        this(method, path, pathTemplate, statusCode, timeToFirstByteNanos, totalNanos, bytesSent, bytesReceived,
+                bytesSent, bytesReceived, attempt, error);
+    }
+
+    public RequestEvent(String method, String path, String pathTemplate, int statusCode, long timeToFirstByteNanos,
+                        long totalNanos, long bytesSent, long bytesReceived, long uncompressedBytesSent,
+                        long uncompressedBytesReceived, int attempt, Throwable error) {
+        this.method = method;
+        this.path = path;
+        this.pathTemplate = pathTemplate;
+        this.statusCode = statusCode;
+        this.timeToFirstByteNanos = timeToFirstByteNanos;
+        this.totalNanos = totalNanos;
+        this.bytesSent = bytesSent;
+        this.bytesReceived = bytesReceived;
+        this.uncompressedBytesSent = uncompressedBytesSent;
+        this.uncompressedBytesReceived = uncompressedBytesReceived;
+        this.attempt = attempt;
+        this.error = error;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getPathTemplate() {
+        return pathTemplate;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public long getTimeToFirstByteNanos() {
+        return timeToFirstByteNanos;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    public long getUncompressedBytesSent() {
+        return uncompressedBytesSent;
+    }
+
+    public long getUncompressedBytesReceived() {
+        return uncompressedBytesReceived;
+    }
+
+    public int getAttempt() {
+        return attempt;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+}
@@ -0,0 +1,14 @@
+package core.http;
+
+/**
+ * Hook invoked by {@link RestClient} once per HTTP exchange, after the response has been read or the exchange
+ * has failed. Bodies are decoded lazily, so decoding time is reported separately through {@link #onDecode}
+ * whenever a caller first reads the body. Implementations are called on client threads and must be thread-safe.
+ */
+public interface RequestListener {
+
+    void onComplete(RequestEvent event);
+
+    default void onDecode(RequestEvent event, long decodeNanos) {
+    }
+}
@@ -0,0 +1,27 @@
+package core.http;
+
+import java.time.Duration;
+
+/**
+ * A request did not complete within its per-call timeout or the remaining {@link Deadline} budget.
+ */
+public class RequestTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration timeout;
+
+    public RequestTimeoutException(String method, String path, Duration timeout, Throwable cause) {
+        super(method + " " + path + " timed out after " + timeout.toMillis() + " ms", cause);
+        this.timeout = timeout;
+    }
+
+    public RequestTimeoutException(String message, Duration timeout) {
+        super(message);
+        this.timeout = timeout;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+}
@@ -1,19 +1,126 @@
 package core.http;
 
+import model.ErrorModel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.function.LongConsumer;
+
+/**
+ * Status code and body of one response.
+ * <p>
+ * Buffered responses keep the raw body bytes and decode them on first access: {@link #getBody()} into the
+ * requested type and {@link #getError()} into {@link ErrorModel} for non-2xx statuses. Checking only the status
+ * never pays for deserialization. A non-2xx body is an error document, so {@link #getBody()} does not try to read
+ * it as the success type.
+ */
 public class Response<T> {
     private final int statusCode;
-    private final T body;
+    private final byte[] rawBody;
+    private final Exchange.Decoder<T> decoder;
+    private final Exchange.Decoder<ErrorModel> errorDecoder;
+    private final LongConsumer decodeTimer;
+    private volatile boolean decoded;
+    private T body;
+    private volatile boolean errorDecoded;
+    private ErrorModel error;
 
     public Response(int statusCode, T body) {
         this.statusCode = statusCode;
+        this.rawBody = null;
+        this.decoder = null;
+        this.errorDecoder = null;
+        this.decodeTimer = null;
         this.body = body;
+        this.decoded = true;
+    }
+
+    Response(int statusCode, byte[] rawBody, Exchange.Decoder<T> decoder, Exchange.Decoder<ErrorModel> errorDecoder,
+             LongConsumer decodeTimer) {
+        this.statusCode = statusCode;
+        this.rawBody = rawBody;
+        this.decoder = decoder;
+        this.errorDecoder = errorDecoder;
+        this.decodeTimer = decodeTimer;
+    }
+
+    /**
+     * Same status and bytes, decoded independently with {@code decoder}.
+     */
+    <U> Response<U> withDecoder(Exchange.Decoder<U> decoder) {
+        return new Response<>(statusCode, rawBody, decoder, errorDecoder, decodeTimer);
     }
 
     public int getStatusCode() {
         return statusCode;
     }
 
+    public boolean isSuccessful() {
+        return statusCode / 100 == 2;
+    }
+
+    /**
+     * The body decoded into the requested type, or {@code null} for a non-2xx response; read those with
+     * {@link #getError()}. Responses requested as {@link ErrorModel}, e.g. by {@code getErrorByID}, return the
+     * error document here for any status.
+     *
+     * @throws UncheckedIOException when the body cannot be decoded into the requested type
+     */
     public T getBody() {
+        if (!decoded) {
+            synchronized (this) {
+                if (!decoded) {
+                    body = isSuccessful() || decoder == errorDecoder ? decode(decoder) : null;
+                    decoded = true;
+                }
+            }
+        }
         return body;
     }
+
+    /**
+     * The body decoded as {@link ErrorModel}, or {@code null} for 2xx responses.
+     *
+     * @throws UncheckedIOException when the body is not an error document
+     */
+    public ErrorModel getError() {
+        if (isSuccessful() || errorDecoder == null) {
+            return null;
+        }
+        if (!errorDecoded) {
+            synchronized (this) {
+                if (!errorDecoded) {
+                    error = decode(errorDecoder);
+                    errorDecoded = true;
+                }
+            }
+        }
+        return error;
+    }
+
+    /**
+     * The undecoded body, or {@code null} for responses that were not buffered. The array is not copied
+     * and must not be modified.
+     */
+    public byte[] getRawBody() {
+        return rawBody;
+    }
+
+    public ByteBuffer getRawBodyBuffer() {
+        return rawBody == null ? null : ByteBuffer.wrap(rawBody).asReadOnlyBuffer();
+    }
+
+    private <U> U decode(Exchange.Decoder<U> with) {
+        long start = System.nanoTime();
+        try {
+            return with.decode(rawBody);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode " + statusCode + " response body", e);
+        } finally {
+            if (decodeTimer != null) {
+                decodeTimer.accept(System.nanoTime() - start);
+            }
+        }
+    }
 }
@@ -1,45 +1,231 @@
 package core.http;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.core.type.TypeReference;
 import configs.ConfigLoader;
+import configs.HttpSettings;
+import core.http.cache.ResponseCache;
+import core.http.ratelimit.RateLimiter;
+import core.http.replay.HttpArchive;
+import core.http.resilience.CircuitBreaker;
+import core.http.resilience.CircuitBreakerOpenException;
+import core.http.resilience.HedgePolicy;
+import core.http.resilience.Resilience;
 import model.ErrorModel;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class RestClient {
 
-    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
-    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client;
+    private final JsonCodec codec;
     private final String baseUrl;
+    private final Executor executor;
+    private final Resilience resilience;
+    private final ResponseCache cache;
+    private final RateLimiter rateLimiter;
+    private final HttpArchive archive;
+    private final Exchange.Decoder<ErrorModel> errorDecoder;
+    private final List<RequestListener> listeners = new CopyOnWriteArrayList<>();
+    private final ConcurrentMap<String, CompletableFuture<Response<byte[]>>> inFlightGets = new ConcurrentHashMap<>();
+    private final LongAdder coalescedGets = new LongAdder();
+    private final ConnectionStats connectionStats = new ConnectionStats();
+    private final boolean responseCompression;
+    private final int requestCompressionMinBytes;
+    private volatile boolean coalescing = Boolean.parseBoolean(ConfigLoader.getProperty("http.coalesce.enabled"));
 
     public RestClient(String baseUrl) {
-        this.baseUrl = ConfigLoader.getProperty("api.url");
+        this(baseUrl, ClientExecutors.shared());
+    }
+
+    public RestClient(String baseUrl, Executor executor) {
+        this(baseUrl, executor, JsonCodec.getDefault());
+    }
+
+    public RestClient(String baseUrl, Executor executor, JsonCodec codec) {
+        this(baseUrl, executor, codec, Resilience.fromConfig());
+    }
+
+    public RestClient(String baseUrl, Executor executor, JsonCodec codec, Resilience resilience) {
+        this(baseUrl, executor, codec, resilience, ResponseCache.fromConfig());
+    }
+
+    public RestClient(String baseUrl, Executor executor, JsonCodec codec, Resilience resilience, ResponseCache cache) {
+        this(baseUrl, executor, codec, resilience, cache, RateLimiter.fromConfig(baseUrl));
+    }
+
+    public RestClient(String baseUrl, Executor executor, JsonCodec codec, Resilience resilience, ResponseCache cache,
+                      RateLimiter rateLimiter) {
+        this(baseUrl, executor, codec, resilience, cache, rateLimiter, HttpArchive.shared());
+    }
+
+    public RestClient(String baseUrl, Executor executor, JsonCodec codec, Resilience resilience, ResponseCache cache,
+                      RateLimiter rateLimiter, HttpArchive archive) {
+        this.baseUrl = baseUrl;
+        this.codec = codec;
+        this.executor = executor;
+        this.resilience = resilience;
+        this.cache = cache;
+        this.rateLimiter = rateLimiter;
+        this.archive = archive;
+        ObjectReader errorReader = codec.reader(ErrorModel.class);
+        this.errorDecoder = body -> codec.read(body, errorReader);
+        HttpSettings settings = HttpSettings.current();
+        this.responseCompression = settings.isResponseCompression();
+        this.requestCompressionMinBytes = settings.getRequestCompressionMinBytes();
+        this.client = HttpClient.newBuilder()
+                .version(settings.getVersion())
+                .connectTimeout(settings.getConnectTimeout())
+                .executor(executor)
+                .build();
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public Resilience getResilience() {
+        return resilience;
+    }
+
+    public ResponseCache getCache() {
+        return cache;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public HttpClient.Version getVersion() {
+        return client.version();
+    }
+
+    public ConnectionStats getConnectionStats() {
+        return connectionStats;
+    }
+
+    /**
+     * When enabled, concurrent GETs for the same path share one in-flight exchange. Each caller still decodes
+     * its own copy of the body, so results are never shared between callers.
+     */
+    public void setCoalescing(boolean coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    public long getCoalescedGets() {
+        return coalescedGets.sum();
+    }
+
+    public void addListener(RequestListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(RequestListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Resolves the Jackson (de)serializers for the given types and, when {@code path} is set,
+     * opens a connection to the host so the first real call does not pay for the handshake.
+     */
+    public void warmUp(String path, Class<?>... types) {
+        for (Class<?> type : types) {
+            codec.reader(type);
+            codec.writer(type);
+        }
+        if (path != null && !path.isBlank()) {
+            try {
+                client.send(request("GET", path, null), HttpResponse.BodyHandlers.discarding());
+            } catch (IOException e) {
+                // warm-up is best effort, the first real call reports connection problems
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
     }
 
     public <T> Response<T> get(String path, TypeReference<T> typeRef) throws IOException, InterruptedException {
-        HttpRequest request = HttpRequest.newBuilder().uri(URI.create(baseUrl + path)).GET().build();
-        java.net.http.HttpResponse<String> httpResponse = client.send(request, java.net.http.HttpResponse.BodyHandlers.ofString());
+        return await(read(path, decoder(typeRef), true));
+    }
 
-        T body = null;
-        String responseBody = httpResponse.body();
-        if (responseBody != null && !responseBody.isBlank()) {
-            body = mapper.readValue(responseBody, typeRef);
+    public <T> CompletableFuture<Response<T>> getAsync(String path, TypeReference<T> typeRef) {
+        return read(path, decoder(typeRef), false);
+    }
+
+    /**
+     * Streams the elements of a JSON array response without materializing the whole body.
+     * The caller must close the returned stream; non-2xx responses yield an empty stream.
+     * <p>
+     * Streamed calls share the rate limit, circuit breaker, retries and deadline of buffered ones. While the archive
+     * records or replays, the body is buffered so it can be archived, and the elements are read from those bytes.
+     */
+    public <T> Response<Stream<T>> stream(String path, Class<T> elementType) throws IOException, InterruptedException {
+        return await(stream(path, elementType, true));
+    }
+
+    public <T> CompletableFuture<Response<Stream<T>>> streamAsync(String path, Class<T> elementType) {
+        return stream(path, elementType, false);
+    }
+
+    private <T> CompletableFuture<Response<Stream<T>>> stream(String path, Class<T> elementType, boolean blocking) {
+        JavaType type = codec.type(elementType);
+        CompletableFuture<Response<Stream<T>>> result = new CompletableFuture<>();
+        if (archive.isRecording() || archive.isReplaying()) {
+            attempt("GET", path, null, new ArchivedStream<T>(type), 1, Deadline.current(), blocking, result);
+        } else {
+            attempt("GET", path, null, new Streaming<T>(type), 1, Deadline.current(), blocking, result);
+        }
+        return result;
+    }
+
+    /**
+     * Hands each element of a JSON array response to {@code action} as it is parsed.
+     * The response body holds the number of elements processed.
+     */
+    public <T> Response<Long> forEach(String path, Class<T> elementType, Consumer<? super T> action) throws IOException, InterruptedException {
+        Response<Stream<T>> response = stream(path, elementType);
+        long count = 0;
+        try (Stream<T> elements = response.getBody()) {
+            for (T element : (Iterable<T>) elements::iterator) {
+                action.accept(element);
+                count++;
+            }
         }
-        return new Response<>(httpResponse.statusCode(), body);
+        return new Response<>(response.getStatusCode(), count);
     }
 
     public Response<ErrorModel> getError (String path, Class<ErrorModel> type) throws IOException, InterruptedException {
-        HttpRequest request = HttpRequest.newBuilder().uri(URI.create(baseUrl + path)).GET().build();
-        java.net.http.HttpResponse<String> httpResponse = client.send(request, java.net.http.HttpResponse.BodyHandlers.ofString());
+        return await(read(path, errorDecoder, true));
+    }
 
-        ErrorModel body = mapper.readValue(httpResponse.body(), ErrorModel.class);
-        return new Response<>(httpResponse.statusCode(), body);
+    public CompletableFuture<Response<ErrorModel>> getErrorAsync(String path, Class<ErrorModel> type) {
+        return read(path, errorDecoder, false);
     }
 
     public <T> Response<T> getByID(String path, Object id, TypeReference<T> typeRef)
@@ -47,58 +233,596 @@ public class RestClient {
         return get(path + "/" + id, typeRef);
     }
 
+    public <T> CompletableFuture<Response<T>> getByIDAsync(String path, Object id, TypeReference<T> typeRef) {
+        return getAsync(path + "/" + id, typeRef);
+    }
+
     public Response<ErrorModel> getErrorByID (String path, Object id, Class<ErrorModel> type) throws IOException, InterruptedException {
         return getError(path + "/" + id, type);
     }
 
+    public CompletableFuture<Response<ErrorModel>> getErrorByIDAsync(String path, Object id, Class<ErrorModel> type) {
+        return getErrorAsync(path + "/" + id, type);
+    }
+
     public <T> Response<T> post(String path, Object requestBody, Class<T> type) {
         try {
-            String json = mapper.writeValueAsString(requestBody);
-
-            HttpRequest request = HttpRequest.newBuilder().uri(URI.create(baseUrl + path))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(json))
-                    .build();
-            HttpResponse<String> httpResponse = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            T body = null;
-            if (httpResponse.body() != null && !httpResponse.body().isBlank()) {
-                body = mapper.readValue(httpResponse.body(), type);
-            }
-            return new Response<>(httpResponse.statusCode(), body);
-        } catch (Exception e) {
+            return await(write("POST", path, requestBody, type, true));
+        } catch (IOException e) {
+            throw new RuntimeException("POST request failed for " + path, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new RuntimeException("POST request failed for " + path, e);
         }
     }
 
+    public <T> CompletableFuture<Response<T>> postAsync(String path, Object requestBody, Class<T> type) {
+        return write("POST", path, requestBody, type, false);
+    }
+
     public <T> Response<T> put(String path, Object id, Object requestBody, Class<T> type) {
         try {
-            String json = mapper.writeValueAsString(requestBody);
+            return await(write("PUT", path + "/" + id, requestBody, type, true));
+        } catch (IOException e) {
+            throw new RuntimeException("PUT request failed for " + path, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("PUT request failed for " + path, e);
+        }
+    }
+
+    public <T> CompletableFuture<Response<T>> putAsync(String path, Object id, Object requestBody, Class<T> type) {
+        return write("PUT", path + "/" + id, requestBody, type, false);
+    }
+
+    public <T> Response<T> delete(String path, Object id, Class<T> type) {
+        try {
+            return await(this.<T>remove(path + "/" + id, true));
+        } catch (IOException e) {
+            throw new RuntimeException("DELETE request failed for " + path, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("DELETE request failed for " + path, e);
+        }
+    }
+
+    public <T> CompletableFuture<Response<T>> deleteAsync(String path, Object id, Class<T> type) {
+        return remove(path + "/" + id, false);
+    }
 
-            HttpRequest request = HttpRequest.newBuilder().uri(URI.create(baseUrl + path + "/" + id))
-                    .header("Content-Type", "application/json")
-                    .PUT(HttpRequest.BodyPublishers.ofString(json))
-                    .build();
-            HttpResponse<String> httpResponse = client.send(request, HttpResponse.BodyHandlers.ofString());
+    /**
+     * A GET through coalescing and hedging. {@code blocking} is set for calls whose caller waits for the result;
+     * only those may park the calling thread on the rate limiter.
+     */
+    private <T> CompletableFuture<Response<T>> read(String path, Exchange.Decoder<T> decoder, boolean blocking) {
+        return coalesced(path, decoder, Deadline.current(), blocking);
+    }
+
+    private <T> Exchange.Decoder<T> decoder(TypeReference<T> typeRef) {
+        ObjectReader reader = codec.reader(typeRef);
+        return body -> codec.read(body, reader);
+    }
 
-            T body = null;
-            if (httpResponse.body() != null && !httpResponse.body().isBlank()) {
-                body = mapper.readValue(httpResponse.body(), type);
+    private <T> CompletableFuture<Response<T>> remove(String path, boolean blocking) {
+        CompletableFuture<Response<T>> call = this.<T>exchange("DELETE", path, null, body -> null, Deadline.current(), blocking);
+        return cancelling(call, call.exceptionally(e -> {
+            throw failed("DELETE", path, e);
+        }));
+    }
+
+    private <T> CompletableFuture<Response<T>> write(String method, String path, Object requestBody, Class<T> type,
+                                                     boolean blocking) {
+        byte[] json;
+        try {
+            json = codec.write(requestBody);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new RuntimeException(method + " request failed for " + path, e));
+        }
+        ObjectReader reader = codec.reader(type);
+        CompletableFuture<Response<T>> call = this.<T>exchange(method, path, json, body -> codec.read(body, reader),
+                Deadline.current(), blocking);
+        return cancelling(call, call.exceptionally(e -> {
+            throw failed(method, path, e);
+        }));
+    }
+
+    /**
+     * Timeouts and cancellations keep their own type so callers can tell them apart from other failures.
+     */
+    private static RuntimeException failed(String method, String path, Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof RequestTimeoutException || cause instanceof CancellationException) {
+            return (RuntimeException) cause;
+        }
+        return new RuntimeException(method + " request failed for " + path, cause);
+    }
+
+    private static <T> CompletableFuture<T> cancelling(CompletableFuture<?> upstream, CompletableFuture<T> downstream) {
+        downstream.whenComplete((response, error) -> {
+            if (downstream.isCancelled()) {
+                upstream.cancel(true);
             }
-            return new Response<>(httpResponse.statusCode(), body);
-        } catch (Exception e) {
-            throw new RuntimeException("PUT request failed for " + path, e);
+        });
+        return downstream;
+    }
+
+    /**
+     * @param deadline the caller's {@link Deadline}, captured on the calling thread since hedges and retries run on
+     *                 the executor
+     * @param blocking whether this is the calling thread of a blocking call, which may park on the rate limiter
+     */
+    private <T> CompletableFuture<Response<T>> exchange(String method, String path, byte[] requestBody,
+                                                        Exchange.Decoder<T> decoder, Deadline deadline, boolean blocking) {
+        CompletableFuture<Response<T>> result = new CompletableFuture<>();
+        if (!"GET".equals(method)) {
+            cache.invalidate(path);
+            result.whenComplete((response, error) -> cache.invalidate(path));
+            attempt(method, path, requestBody, new Decoding<>(decoder, null, 0), 1, deadline, blocking, result);
+            return result;
+        }
+        long cacheGeneration = cache.generation();
+        ResponseCache.Entry cached = cache.lookup(path);
+        if (cached != null && cached.isFresh()) {
+            return CompletableFuture.completedFuture(new Response<>(200, cached.getBody(), decoder, errorDecoder, null));
         }
+        attempt(method, path, requestBody, new Decoding<>(decoder, cached, cacheGeneration), 1, deadline, blocking, result);
+        return result;
     }
 
-    public <T> Response<T> delete(String path, Object id, Class<T> type) {
+    private <T> CompletableFuture<Response<T>> coalesced(String path, Exchange.Decoder<T> decoder, Deadline deadline,
+                                                         boolean blocking) {
+        if (!coalescing) {
+            return hedged(path, decoder, deadline, blocking);
+        }
+        CompletableFuture<Response<byte[]>> shared = new CompletableFuture<>();
+        CompletableFuture<Response<byte[]>> existing = inFlightGets.putIfAbsent(path, shared);
+        if (existing != null) {
+            coalescedGets.increment();
+        } else {
+            hedged(path, body -> body, deadline, blocking).whenComplete((response, error) -> {
+                inFlightGets.remove(path, shared);
+                if (error != null) {
+                    shared.completeExceptionally(unwrap(error));
+                } else {
+                    shared.complete(response);
+                }
+            });
+        }
+        return (existing != null ? existing : shared).thenApply(raw -> raw.withDecoder(decoder));
+    }
+
+    private <T> CompletableFuture<Response<T>> hedged(String path, Exchange.Decoder<T> decoder, Deadline deadline,
+                                                      boolean blocking) {
+        HedgePolicy.Endpoint endpoint = resilience.getHedgePolicy().endpoint(PathTemplates.of(path));
+        if (endpoint == null) {
+            return exchange("GET", path, null, decoder, deadline, blocking);
+        }
+        endpoint.onRequest();
+        long start = System.nanoTime();
+        CompletableFuture<Response<T>> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        CompletableFuture<Response<T>> primary = exchange("GET", path, null, decoder, deadline, blocking);
+        List<CompletableFuture<Response<T>>> calls = new CopyOnWriteArrayList<>(List.of(primary));
+        result.whenComplete((response, error) -> calls.forEach(call -> call.cancel(true)));
+
+        primary.whenComplete((response, error) -> {
+            if (error == null || primary.isCancelled()) {
+                endpoint.recordLatency(System.nanoTime() - start);
+            }
+            settle(result, outstanding, response, error, null);
+        });
+        CompletableFuture.delayedExecutor(endpoint.delayNanos(), TimeUnit.NANOSECONDS, executor).execute(() -> {
+            if (result.isDone() || !endpoint.tryHedge() || outstanding.getAndUpdate(n -> n == 0 ? 0 : n + 1) == 0) {
+                return;
+            }
+            CompletableFuture<Response<T>> hedge = exchange("GET", path, null, decoder, deadline, false);
+            calls.add(hedge);
+            hedge.whenComplete((response, error) -> settle(result, outstanding, response, error, endpoint));
+            if (result.isDone()) {
+                hedge.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Completes {@code result} with the first successful response; a failure only wins once no call is left.
+     */
+    private <T> void settle(CompletableFuture<Response<T>> result, AtomicInteger outstanding, Response<T> response,
+                            Throwable error, HedgePolicy.Endpoint hedgeOf) {
+        boolean success = response != null && !Resilience.isFailure(response.getStatusCode(), null);
+        if (success && result.complete(response)) {
+            if (hedgeOf != null) {
+                hedgeOf.onHedgeWon();
+            }
+            return;
+        }
+        if (outstanding.decrementAndGet() > 0 || result.isDone()) {
+            return;
+        }
+        if (error != null) {
+            result.completeExceptionally(unwrap(error));
+        } else {
+            result.complete(response);
+        }
+    }
+
+    private <B, R> void attempt(String method, String path, byte[] requestBody, Receiver<B, R> receiver, int attempt,
+                                Deadline deadline, boolean blocking, CompletableFuture<R> result) {
+        if (result.isDone()) {
+            return;
+        }
+        // executor threads never park: async calls, hedges and retries wait on a timer even in blocking mode
+        if (blocking && rateLimiter.getMode() == RateLimiter.Mode.BLOCKING) {
+            rateLimiter.acquire(path);
+        } else {
+            long wait = rateLimiter.reserve(path);
+            if (wait > 0) {
+                CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS, executor)
+                        .execute(() -> send(method, path, requestBody, receiver, attempt, deadline, result));
+                return;
+            }
+        }
+        send(method, path, requestBody, receiver, attempt, deadline, result);
+    }
+
+    private <B, R> void send(String method, String path, byte[] requestBody, Receiver<B, R> receiver, int attempt,
+                             Deadline deadline, CompletableFuture<R> result) {
+        if (result.isDone()) {
+            return;
+        }
+        byte[] payload = compress(requestBody);
+        Exchange exchange = new Exchange(method, path, payload == null ? 0 : payload.length,
+                requestBody == null ? 0 : requestBody.length, attempt, listeners);
+        Duration timeout = resilience.getTimeouts().forRequest(method, path);
+        if (deadline != null) {
+            // read the budget once: a request timeout of zero is rejected by the builder
+            Duration remaining = deadline.remaining();
+            if (remaining.isZero()) {
+                RequestTimeoutException expired = new RequestTimeoutException("Deadline exceeded before sending " + method + " " + path, Duration.ZERO);
+                exchange.finish(-1, expired);
+                result.completeExceptionally(expired);
+                return;
+            }
+            timeout = remaining.compareTo(timeout) < 0 ? remaining : timeout;
+        }
+        CircuitBreaker breaker = resilience.breaker(PathTemplates.of(path));
+        if (breaker != null && !breaker.tryAcquire()) {
+            CircuitBreakerOpenException rejected = new CircuitBreakerOpenException(method + " " + breaker.getName());
+            exchange.finish(-1, rejected);
+            result.completeExceptionally(rejected);
+            return;
+        }
+
+        CompletableFuture<HttpResponse<B>> call;
+        long sentAt = System.nanoTime();
         try {
-            HttpRequest request = HttpRequest.newBuilder().uri(URI.create(baseUrl + path + "/" + id)).DELETE().build();
-            HttpResponse<String> httpResponse = client.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpRequest request = request(method, path, payload, payload != requestBody, receiver.stale(), timeout);
+            call = receiver.send(method, path, requestBody, request, exchange);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<HttpResponse<B>> inFlight = call;
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                inFlight.cancel(true);
+            }
+        });
+        // orTimeout unschedules its timer once the watchdog completes, so a finished call is not kept reachable
+        // until its timeout would have passed
+        AtomicBoolean timedOut = new AtomicBoolean();
+        CompletableFuture<Void> watchdog = new CompletableFuture<Void>().orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        watchdog.whenCompleteAsync((ignored, expired) -> {
+            if (expired != null && !inFlight.isDone() && timedOut.compareAndSet(false, true)) {
+                inFlight.cancel(true);
+            }
+        }, executor);
+        inFlight.whenComplete((httpResponse, error) -> watchdog.complete(null));
 
-            return new Response<>(httpResponse.statusCode(), null);
-        } catch (Exception e) {
-            throw new RuntimeException("DELETE request failed for " + path, e);
+        Duration callTimeout = timeout;
+        inFlight.whenComplete((httpResponse, error) -> {
+            Throwable failure = error == null ? null : unwrap(error);
+            if (failure instanceof HttpTimeoutException || (failure instanceof CancellationException && timedOut.get())) {
+                failure = new RequestTimeoutException(method, path, callTimeout, failure);
+            }
+            int status = httpResponse == null ? -1 : httpResponse.statusCode();
+            rateLimiter.onResponse(path, status);
+            if (breaker != null) {
+                if (failure instanceof CancellationException) {
+                    breaker.onCancel();
+                } else if (Resilience.isFailure(status, failure)) {
+                    breaker.onFailure();
+                } else {
+                    breaker.onSuccess();
+                }
+            }
+            if (httpResponse != null) {
+                try {
+                    receiver.record(method, path, requestBody, httpResponse, sentAt);
+                } catch (IOException e) {
+                    // a run that cannot be recorded completely must not pass as recorded
+                    IOException notRecorded = new IOException("Failed to record " + method + " " + path, e);
+                    exchange.finish(status, notRecorded);
+                    result.completeExceptionally(notRecorded);
+                    return;
+                }
+            }
+
+            Optional<Duration> retryDelay = resilience.getRetryPolicy()
+                    .nextDelay(method, attempt, status, httpResponse == null ? null : httpResponse.headers(), failure);
+            if (retryDelay.isPresent() && deadline != null && deadline.remaining().compareTo(retryDelay.get()) <= 0) {
+                retryDelay = Optional.empty();
+            }
+            if (retryDelay.isPresent() && !result.isDone()) {
+                exchange.finish(status, failure);
+                if (httpResponse != null) {
+                    receiver.discard(httpResponse);
+                }
+                CompletableFuture.delayedExecutor(retryDelay.get().toNanos(), TimeUnit.NANOSECONDS, executor)
+                        .execute(() -> attempt(method, path, requestBody, receiver, attempt + 1, deadline, false, result));
+                return;
+            }
+            if (failure != null) {
+                exchange.finish(status, failure);
+                result.completeExceptionally(failure);
+                return;
+            }
+            R received;
+            try {
+                received = receiver.receive(method, path, httpResponse, exchange);
+            } catch (IOException e) {
+                exchange.finish(status, e);
+                receiver.discard(httpResponse);
+                result.completeExceptionally(e);
+                return;
+            }
+            if (!result.complete(received)) {
+                receiver.discard(httpResponse);
+            }
+        });
+    }
+
+    /**
+     * How a call receives its response and what it completes with. One receiver serves every attempt of a call.
+     */
+    private interface Receiver<B, R> {
+
+        /**
+         * The cache entry to revalidate, or {@code null}.
+         */
+        default ResponseCache.Entry stale() {
+            return null;
+        }
+
+        CompletableFuture<HttpResponse<B>> send(String method, String path, byte[] requestBody, HttpRequest request,
+                                                Exchange exchange);
+
+        /**
+         * Archives the response when recording.
+         */
+        void record(String method, String path, byte[] requestBody, HttpResponse<B> response, long sentAt) throws IOException;
+
+        /**
+         * Releases a response that is retried or that nobody waits for anymore.
+         */
+        void discard(HttpResponse<B> response);
+
+        /**
+         * The result for a response that is not retried. Finishes {@code exchange} unless it throws.
+         */
+        R receive(String method, String path, HttpResponse<B> response, Exchange exchange) throws IOException;
+    }
+
+    /**
+     * Reads the whole body, which lets the archive record and replay the exchange.
+     */
+    private abstract class Buffered<R> implements Receiver<byte[], R> {
+
+        @Override
+        public CompletableFuture<HttpResponse<byte[]>> send(String method, String path, byte[] requestBody,
+                                                            HttpRequest request, Exchange exchange) {
+            return archive.isReplaying()
+                    ? archive.replay(request, method, path, requestBody, executor)
+                    : sendLive(request, exchange.counting(HttpResponse.BodyHandlers.ofByteArray()));
+        }
+
+        @Override
+        public void record(String method, String path, byte[] requestBody, HttpResponse<byte[]> response, long sentAt)
+                throws IOException {
+            if (archive.isRecording()) {
+                archive.record(method, path, requestBody, response, sentAt, System.nanoTime() - sentAt);
+            }
+        }
+
+        @Override
+        public void discard(HttpResponse<byte[]> response) {
+        }
+    }
+
+    /**
+     * Decodes the body on first access; GETs revalidate and fill the response cache.
+     */
+    private final class Decoding<T> extends Buffered<Response<T>> {
+
+        private final Exchange.Decoder<T> decoder;
+        private final ResponseCache.Entry stale;
+        private final long cacheGeneration;
+
+        private Decoding(Exchange.Decoder<T> decoder, ResponseCache.Entry stale, long cacheGeneration) {
+            this.decoder = decoder;
+            this.stale = stale;
+            this.cacheGeneration = cacheGeneration;
+        }
+
+        @Override
+        public ResponseCache.Entry stale() {
+            return stale;
+        }
+
+        @Override
+        public Response<T> receive(String method, String path, HttpResponse<byte[]> response, Exchange exchange) {
+            int status = response.statusCode();
+            byte[] body = response.body();
+            int responseStatus = status;
+            if (status == 304 && stale != null) {
+                body = cache.revalidated(path, stale, cacheGeneration).getBody();
+                responseStatus = 200;
+            } else if (status == 200 && "GET".equals(method)) {
+                cache.store(path, body, response.headers(), cacheGeneration);
+            }
+            exchange.finish(status, null);
+            return new Response<>(responseStatus, body, decoder, errorDecoder, exchange::decoded);
+        }
+    }
+
+    /**
+     * Streams the elements of a buffered body, for streamed calls while the archive records or replays.
+     */
+    private final class ArchivedStream<T> extends Buffered<Response<Stream<T>>> {
+
+        private final JavaType elementType;
+
+        private ArchivedStream(JavaType elementType) {
+            this.elementType = elementType;
+        }
+
+        @Override
+        public Response<Stream<T>> receive(String method, String path, HttpResponse<byte[]> response, Exchange exchange)
+                throws IOException {
+            int status = response.statusCode();
+            Stream<T> elements = status / 100 == 2
+                    ? JsonStreams.elements(codec, new ByteArrayInputStream(response.body()), elementType)
+                    : Stream.empty();
+            exchange.finish(status, null);
+            return new Response<>(status, elements);
+        }
+    }
+
+    /**
+     * Hands the body to the caller as it arrives. Never used while the archive records or replays.
+     */
+    private final class Streaming<T> implements Receiver<InputStream, Response<Stream<T>>> {
+
+        private final JavaType elementType;
+
+        private Streaming(JavaType elementType) {
+            this.elementType = elementType;
+        }
+
+        @Override
+        public CompletableFuture<HttpResponse<InputStream>> send(String method, String path, byte[] requestBody,
+                                                                 HttpRequest request, Exchange exchange) {
+            return sendLive(request, exchange.counting(HttpResponse.BodyHandlers.ofInputStream()));
+        }
+
+        @Override
+        public void record(String method, String path, byte[] requestBody, HttpResponse<InputStream> response, long sentAt) {
         }
+
+        @Override
+        public void discard(HttpResponse<InputStream> response) {
+            try {
+                response.body().close();
+            } catch (IOException e) {
+                // the connection is dropped either way
+            }
+        }
+
+        @Override
+        public Response<Stream<T>> receive(String method, String path, HttpResponse<InputStream> response,
+                                           Exchange exchange) throws IOException {
+            int status = response.statusCode();
+            // bytes are counted as they are read, so the exchange finishes when the caller closes the stream
+            Stream<T> elements = RestClient.this.<T>elements(response, elementType).onClose(() -> exchange.finish(status, null));
+            return new Response<>(status, elements);
+        }
+    }
+
+    /**
+     * Sends over the network and tracks protocol and concurrency. The JDK future is returned as is so that
+     * cancelling it still aborts the exchange.
+     */
+    private <B> CompletableFuture<HttpResponse<B>> sendLive(HttpRequest request, HttpResponse.BodyHandler<B> handler) {
+        connectionStats.onSend();
+        CompletableFuture<HttpResponse<B>> call = client.sendAsync(request, handler);
+        call.whenComplete((response, error) -> connectionStats.onComplete(response));
+        return call;
+    }
+
+    /**
+     * The body as sent: gzip encoded once it reaches {@code http.compression.request.minBytes}, unless that
+     * would not make it smaller.
+     */
+    private byte[] compress(byte[] requestBody) {
+        if (requestBody == null || requestCompressionMinBytes <= 0 || requestBody.length < requestCompressionMinBytes) {
+            return requestBody;
+        }
+        byte[] gzipped = Compression.gzip(requestBody);
+        return gzipped.length < requestBody.length ? gzipped : requestBody;
+    }
+
+    private HttpRequest request(String method, String path, byte[] requestBody) {
+        return request(method, path, requestBody, false, null, resilience.getTimeouts().forRequest(method, path));
+    }
+
+    private HttpRequest request(String method, String path, byte[] requestBody, boolean gzipped, ResponseCache.Entry stale,
+                                Duration timeout) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().uri(URI.create(baseUrl + path)).timeout(timeout);
+        if (responseCompression) {
+            builder.header("Accept-Encoding", Compression.ACCEPT_ENCODING);
+        }
+        if (gzipped) {
+            builder.header("Content-Encoding", "gzip");
+        }
+        if (stale != null && stale.getEtag() != null) {
+            builder.header("If-None-Match", stale.getEtag());
+        }
+        if (stale != null && stale.getLastModified() != null) {
+            builder.header("If-Modified-Since", stale.getLastModified());
+        }
+        if (requestBody == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(requestBody))
+                .build();
+    }
+
+    private <T> Stream<T> elements(HttpResponse<InputStream> httpResponse, JavaType elementType) throws IOException {
+        InputStream body = httpResponse.body();
+        if (httpResponse.statusCode() / 100 != 2) {
+            body.close();
+            return Stream.empty();
+        }
+        return JsonStreams.elements(codec, body, elementType);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException, InterruptedException {
+        Deadline deadline = Deadline.current();
+        try {
+            return deadline == null ? future.get() : future.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RequestTimeoutException("Deadline exceeded while waiting for the response", Duration.ZERO);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
     }
 }
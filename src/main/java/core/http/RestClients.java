@@ -0,0 +1,175 @@
+package core.http;
+
+import configs.ConfigLoader;
+import configs.HttpSettings;
+import core.http.cache.ResponseCache;
+import core.http.metrics.ClientMetrics;
+import core.http.metrics.MetricsExporter;
+import core.http.metrics.MetricsSnapshot;
+import core.http.ratelimit.TokenBucket;
+import core.http.replay.HttpArchive;
+import core.http.resilience.CircuitBreaker;
+import core.http.resilience.HedgePolicy;
+import model.AuthorsModel;
+import model.BookModel;
+import model.ErrorModel;
+import stub.FakeRestApiServer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Registry of shared {@link RestClient}s keyed by base URL.
+ * <p>
+ * Every caller asking for the same base URL gets the same warmed client, so connections, TLS sessions
+ * and Jackson caches are reused across tests. {@link HttpSettings} are read from {@code application.properties}
+ * and applied before the first {@code HttpClient} is built. With {@code api.stub=true} the shared client targets
+ * the in-process {@link FakeRestApiServer} instead of {@code api.url}.
+ */
+public final class RestClients {
+
+    private static final ConcurrentMap<String, RestClient> CLIENTS = new ConcurrentHashMap<>();
+    private static final List<ExecutorService> DEDICATED_EXECUTORS = new CopyOnWriteArrayList<>();
+    private static volatile MetricsSnapshot shutdownSnapshot;
+
+    static {
+        HttpSettings.current();
+        exportMetricsOnExit();
+    }
+
+    private RestClients() {
+    }
+
+    public static RestClient shared() {
+        if (Boolean.parseBoolean(ConfigLoader.getProperty("api.stub"))) {
+            return forBaseUrl(FakeRestApiServer.shared().getBaseUrl());
+        }
+        return forBaseUrl(ConfigLoader.getBaseUrl());
+    }
+
+    public static RestClient forBaseUrl(String baseUrl) {
+        return CLIENTS.computeIfAbsent(baseUrl, RestClients::create);
+    }
+
+    /**
+     * Drops the shared clients and stops their executors, the stub and the archive. The metrics exported on exit
+     * are those of the clients at this point.
+     */
+    public static void shutdown() {
+        shutdownSnapshot = metricsSnapshot();
+        CLIENTS.clear();
+        for (ExecutorService executor : DEDICATED_EXECUTORS) {
+            executor.shutdown();
+        }
+        DEDICATED_EXECUTORS.clear();
+        ClientExecutors.shutdownShared();
+        FakeRestApiServer.shutdownShared();
+        HttpArchive.closeShared();
+    }
+
+    public static MetricsSnapshot metricsSnapshot() {
+        MetricsSnapshot snapshot = ClientMetrics.global().snapshot();
+        for (RestClient client : CLIENTS.values()) {
+            for (CircuitBreaker breaker : client.getResilience().getBreakers()) {
+                MetricsSnapshot.CircuitBreakerSnapshot state = new MetricsSnapshot.CircuitBreakerSnapshot();
+                state.endpoint = client.getBaseUrl() + breaker.getName();
+                state.state = breaker.getState().name();
+                state.consecutiveFailures = breaker.getConsecutiveFailures();
+                state.timesOpened = breaker.getTimesOpened();
+                state.rejected = breaker.getRejected();
+                snapshot.circuitBreakers.add(state);
+            }
+            for (HedgePolicy.Endpoint endpoint : client.getResilience().getHedgePolicy().getEndpoints()) {
+                MetricsSnapshot.HedgeSnapshot hedges = new MetricsSnapshot.HedgeSnapshot();
+                hedges.endpoint = client.getBaseUrl() + endpoint.getName();
+                hedges.requests = endpoint.getRequests();
+                hedges.hedgesFired = endpoint.getFired();
+                hedges.hedgesWon = endpoint.getWon();
+                hedges.hedgeDelayMs = endpoint.delayNanos() / 1_000_000.0;
+                snapshot.hedges.add(hedges);
+            }
+            if (client.getCoalescedGets() > 0) {
+                snapshot.coalescedGets.put(client.getBaseUrl(), client.getCoalescedGets());
+            }
+            for (TokenBucket bucket : client.getRateLimiter().getBuckets()) {
+                MetricsSnapshot.RateLimiterSnapshot limiter = new MetricsSnapshot.RateLimiterSnapshot();
+                limiter.bucket = bucket.getName();
+                limiter.configuredRate = bucket.getConfiguredRate();
+                limiter.currentRate = bucket.getCurrentRate();
+                limiter.acquired = bucket.getAcquired();
+                limiter.delayed = bucket.getDelayed();
+                limiter.throttled = bucket.getThrottled();
+                limiter.wait = MetricsSnapshot.Percentiles.of(bucket.getWaitMicros());
+                snapshot.rateLimiters.add(limiter);
+            }
+            ResponseCache cache = client.getCache();
+            if (cache.isEnabled()) {
+                MetricsSnapshot.CacheSnapshot caching = new MetricsSnapshot.CacheSnapshot();
+                caching.baseUrl = client.getBaseUrl();
+                caching.entries = cache.size();
+                caching.hits = cache.getHits();
+                caching.misses = cache.getMisses();
+                long lookups = caching.hits + caching.misses;
+                caching.hitRatio = lookups == 0 ? 0 : caching.hits / (double) lookups;
+                caching.revalidations = cache.getRevalidations();
+                caching.evictions = cache.getEvictions();
+                caching.invalidations = cache.getInvalidations();
+                snapshot.caches.add(caching);
+            }
+            ConnectionStats stats = client.getConnectionStats();
+            MetricsSnapshot.ConnectionSnapshot connections = new MetricsSnapshot.ConnectionSnapshot();
+            connections.baseUrl = client.getBaseUrl();
+            connections.preferredVersion = client.getVersion().name();
+            connections.http2Responses = stats.getHttp2Responses();
+            connections.http11Responses = stats.getHttp11Responses();
+            connections.peakInFlight = stats.getPeakInFlight();
+            connections.connectionsOpened = -1;
+            connections.connectionsReused = -1;
+            FakeRestApiServer stub = FakeRestApiServer.sharedIfRunning();
+            if (stub != null && stub.getBaseUrl().equals(client.getBaseUrl())) {
+                connections.connectionsOpened = stub.getConnectionsOpened();
+                connections.connectionsReused = stub.getRequestsServed() - stub.getConnectionsOpened();
+            }
+            snapshot.connections.add(connections);
+        }
+        return snapshot;
+    }
+
+    private static RestClient create(String baseUrl) {
+        HttpSettings settings = HttpSettings.current();
+        ExecutorService executor;
+        if (settings.isDedicatedExecutor()) {
+            executor = ClientExecutors.fromConfig(settings.getExecutor());
+            DEDICATED_EXECUTORS.add(executor);
+        } else {
+            executor = ClientExecutors.shared();
+        }
+        RestClient client = new RestClient(baseUrl, executor);
+        client.warmUp(ConfigLoader.getProperty("http.warmup.path"), BookModel.class, AuthorsModel.class, ErrorModel.class);
+        if (!"false".equals(ConfigLoader.getProperty("http.metrics.enabled"))) {
+            client.addListener(ClientMetrics.global());
+        }
+        return client;
+    }
+
+    private static void exportMetricsOnExit() {
+        String file = ConfigLoader.getProperty("http.metrics.file");
+        if (file == null || file.isBlank()) {
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            MetricsSnapshot snapshot = CLIENTS.isEmpty() && shutdownSnapshot != null ? shutdownSnapshot : metricsSnapshot();
+            try {
+                MetricsExporter.writeJson(snapshot, Path.of(file));
+            } catch (IOException e) {
+                // the JVM is exiting, so an exception would only be printed without context
+                System.err.println("Failed to write HTTP client metrics to " + file + ": " + e);
+            }
+        }, "http-metrics-export"));
+    }
+}
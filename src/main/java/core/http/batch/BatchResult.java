@@ -0,0 +1,79 @@
+package core.http.batch;
+
+import core.http.Response;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * Per-item outcome of a {@link BatchRunner} run, in the order the items were supplied.
+ * An item succeeded when its call completed with a 2xx response.
+ */
+public class BatchResult<I, R> {
+
+    private final List<Item<I, R>> items;
+
+    BatchResult(Collection<Item<I, R>> items) {
+        this.items = new ArrayList<>(items);
+        this.items.sort(Comparator.comparingInt(Item::getIndex));
+    }
+
+    public List<Item<I, R>> getItems() {
+        return items;
+    }
+
+    public List<Item<I, R>> getSucceeded() {
+        return items.stream().filter(Item::isSuccess).collect(Collectors.toList());
+    }
+
+    public List<Item<I, R>> getFailed() {
+        return items.stream().filter(item -> !item.isSuccess()).collect(Collectors.toList());
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public boolean isAllSucceeded() {
+        return items.stream().allMatch(Item::isSuccess);
+    }
+
+    public static class Item<I, R> {
+
+        private final int index;
+        private final I input;
+        private final Response<R> response;
+        private final Throwable error;
+
+        Item(int index, I input, Response<R> response, Throwable error) {
+            this.index = index;
+            this.input = input;
+            this.response = response;
+            this.error = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public I getInput() {
+            return input;
+        }
+
+        public Response<R> getResponse() {
+            return response;
+        }
+
+        public Throwable getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null && response != null && response.getStatusCode() / 100 == 2;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package core.http.batch;
+
+import configs.ConfigLoader;
+import core.http.Response;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Runs one async call per item with at most {@code concurrency} calls in flight.
+ * <p>
+ * Items are pulled from the source only when a slot frees up, so a large or lazily generated stream is never
+ * materialized up front. A failing item is recorded in the {@link BatchResult} and does not stop the batch.
+ */
+public class BatchRunner {
+
+    private final int concurrency;
+
+    public BatchRunner(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Batch concurrency must be positive: " + concurrency);
+        }
+        this.concurrency = concurrency;
+    }
+
+    public static BatchRunner fromConfig() {
+        return new BatchRunner(Integer.parseInt(ConfigLoader.getProperty("http.batch.concurrency")));
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public <I, R> BatchResult<I, R> run(Stream<I> items, Function<? super I, CompletableFuture<Response<R>>> call)
+            throws InterruptedException {
+        Semaphore slots = new Semaphore(concurrency);
+        Queue<BatchResult.Item<I, R>> results = new ConcurrentLinkedQueue<>();
+        Queue<CompletableFuture<Response<R>>> inFlight = new ConcurrentLinkedQueue<>();
+        int index = 0;
+        try (items) {
+            Iterator<I> source = items.iterator();
+            while (source.hasNext()) {
+                slots.acquire();
+                I item = source.next();
+                int position = index++;
+                CompletableFuture<Response<R>> future;
+                try {
+                    future = call.apply(item);
+                } catch (RuntimeException e) {
+                    future = CompletableFuture.failedFuture(e);
+                }
+                inFlight.add(future);
+                CompletableFuture<Response<R>> started = future;
+                future.whenComplete((response, error) -> {
+                    results.add(new BatchResult.Item<>(position, item, response, error));
+                    inFlight.remove(started);
+                    slots.release();
+                });
+            }
+            slots.acquire(concurrency);
+        } catch (InterruptedException e) {
+            inFlight.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        return new BatchResult<>(results);
+    }
+}
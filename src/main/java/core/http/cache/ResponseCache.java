@@ -0,0 +1,285 @@
+package core.http.cache;
+
+import configs.ConfigLoader;
+import core.http.PathTemplates;
+
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded LRU cache of raw GET response bodies keyed by request path.
+ * <p>
+ * Entries live for the TTL of their path template ({@code http.cache.ttls}, e.g.
+ * {@code /api/v1/Books/{id}:60000,/api/v1/Authors:5000}) or {@code http.cache.ttlMs}. Expired entries that carry an
+ * {@code ETag} or {@code Last-Modified} validator are kept and revalidated with a conditional GET. Only 200
+ * responses are stored, and bodies are decoded per hit so callers never share instances.
+ * <p>
+ * Every invalidation advances a generation counter. Callers read {@link #generation()} before sending a GET and
+ * pass it back to {@link #store} or {@link #revalidated}, which drop the body if a write happened in between, so
+ * a response read before a write cannot be cached after it.
+ */
+public class ResponseCache {
+
+    public static final ResponseCache DISABLED = new ResponseCache(false, 0, Duration.ZERO, Map.of());
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long defaultTtlNanos;
+    private final Map<String, Long> ttlNanosByTemplate = new HashMap<>();
+    private final Map<String, Entry> entries;
+    private final NavigableMap<String, Set<String>> keysByResource = new TreeMap<>();
+    private long generation;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ResponseCache(boolean enabled, int maxEntries, Duration defaultTtl, Map<String, Duration> ttls) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.defaultTtlNanos = defaultTtl.toNanos();
+        ttls.forEach((template, ttl) -> ttlNanosByTemplate.put(template, ttl.toNanos()));
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    evictions.increment();
+                    unindex(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static ResponseCache fromConfig() {
+        return new ResponseCache(
+                Boolean.parseBoolean(ConfigLoader.getProperty("http.cache.enabled")),
+                Integer.parseInt(ConfigLoader.getProperty("http.cache.maxEntries")),
+                Duration.ofMillis(Long.parseLong(ConfigLoader.getProperty("http.cache.ttlMs"))),
+                parseTtls(ConfigLoader.getProperty("http.cache.ttls")));
+    }
+
+    public static Map<String, Duration> parseTtls(String ttls) {
+        Map<String, Duration> parsed = new HashMap<>();
+        if (ttls == null || ttls.isBlank()) {
+            return parsed;
+        }
+        for (String entry : ttls.split(",")) {
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid http.cache.ttls entry: " + entry);
+            }
+            parsed.put(entry.substring(0, separator).trim(), Duration.ofMillis(Long.parseLong(entry.substring(separator + 1).trim())));
+        }
+        return parsed;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the entry for {@code path}, fresh or stale, or {@code null} when nothing is cached.
+     * Counts a hit only for fresh entries.
+     */
+    public Entry lookup(String path) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(path);
+            if (entry != null && !entry.isFresh() && !entry.hasValidators()) {
+                entries.remove(path);
+                unindex(path);
+                entry = null;
+            }
+        }
+        if (entry != null && entry.isFresh()) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * The current invalidation generation, to be read before the GET whose response is stored.
+     */
+    public long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /**
+     * Caches a 200 body, unless something was invalidated since {@code startedAt} was read.
+     */
+    public void store(String path, byte[] body, HttpHeaders headers, long startedAt) {
+        if (!enabled || headers.allValues("Cache-Control").stream().anyMatch(value -> value.contains("no-store"))) {
+            return;
+        }
+        Entry entry = new Entry(body, headers.firstValue("ETag").orElse(null),
+                headers.firstValue("Last-Modified").orElse(null), System.nanoTime() + ttlNanos(path));
+        synchronized (entries) {
+            if (startedAt != generation) {
+                return;
+            }
+            entries.put(path, entry);
+            index(path);
+        }
+    }
+
+    /**
+     * Extends a stale entry after the server answered its conditional GET with 304. The entry is returned either
+     * way, but only put back if it is still the cached one, or the path is empty, and nothing was invalidated
+     * since {@code startedAt}.
+     */
+    public Entry revalidated(String path, Entry entry, long startedAt) {
+        revalidations.increment();
+        synchronized (entries) {
+            if (startedAt != generation) {
+                return entry;
+            }
+            entry.expiresAt = System.nanoTime() + ttlNanos(path);
+            Entry current = entries.get(path);
+            if (current == null) {
+                entries.put(path, entry);
+                index(path);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Drops every entry a write to {@code path} may have changed: the path itself, anything below it and its
+     * parent collection.
+     */
+    public void invalidate(String path) {
+        if (!enabled) {
+            return;
+        }
+        String resource = stripQuery(path);
+        String parent = resource.substring(0, Math.max(0, resource.lastIndexOf('/')));
+        synchronized (entries) {
+            generation++;
+            drop(keysByResource.remove(resource));
+            drop(keysByResource.remove(parent));
+            // '0' follows '/', so this range holds exactly the resources below this one
+            NavigableMap<String, Set<String>> below = keysByResource.subMap(resource + "/", true, resource + "0", false);
+            below.values().forEach(this::drop);
+            below.clear();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+            keysByResource.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getRevalidations() {
+        return revalidations.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    private void drop(Set<String> keys) {
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            if (entries.remove(key) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    private void index(String path) {
+        keysByResource.computeIfAbsent(stripQuery(path), resource -> new HashSet<>()).add(path);
+    }
+
+    private void unindex(String path) {
+        String resource = stripQuery(path);
+        Set<String> keys = keysByResource.get(resource);
+        if (keys != null && keys.remove(path) && keys.isEmpty()) {
+            keysByResource.remove(resource);
+        }
+    }
+
+    private long ttlNanos(String path) {
+        return ttlNanosByTemplate.getOrDefault(PathTemplates.of(path), defaultTtlNanos);
+    }
+
+    private static String stripQuery(String path) {
+        int query = path.indexOf('?');
+        return query < 0 ? path : path.substring(0, query);
+    }
+
+    public static final class Entry {
+
+        private final byte[] body;
+        private final String etag;
+        private final String lastModified;
+        private volatile long expiresAt;
+
+        Entry(byte[] body, String etag, String lastModified, long expiresAt) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.expiresAt = expiresAt;
+        }
+
+        public boolean isFresh() {
+            return System.nanoTime() - expiresAt < 0;
+        }
+
+        public boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package core.http.metrics;
+
+import core.http.RequestEvent;
+import core.http.RequestListener;
+import core.http.RequestTimeoutException;
+import core.http.resilience.CircuitBreakerOpenException;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link RequestListener} that aggregates, per HTTP method and endpoint path template:
+ * <ul>
+ *     <li>request counts by status code, with retry attempts, timeouts and circuit breaker rejections;</li>
+ *     <li>bytes sent and received, before and after compression, and the bytes compression saved;</li>
+ *     <li>latency and decoding-time histograms.</li>
+ * </ul>
+ * Recording never takes a lock.
+ */
+public class ClientMetrics implements RequestListener {
+
+    private static final ClientMetrics GLOBAL = new ClientMetrics();
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public static ClientMetrics global() {
+        return GLOBAL;
+    }
+
+    @Override
+    public void onComplete(RequestEvent event) {
+        endpoints.computeIfAbsent(event.getMethod() + " " + event.getPathTemplate(),
+                key -> new Endpoint(event.getMethod(), event.getPathTemplate())).record(event);
+    }
+
+    @Override
+    public void onDecode(RequestEvent event, long decodeNanos) {
+        Endpoint endpoint = endpoints.get(event.getMethod() + " " + event.getPathTemplate());
+        if (endpoint != null) {
+            endpoint.recordDecode(decodeNanos);
+        }
+    }
+
+    public MetricsSnapshot snapshot() {
+        MetricsSnapshot snapshot = new MetricsSnapshot();
+        for (Endpoint endpoint : new TreeMap<>(endpoints).values()) {
+            snapshot.endpoints.add(endpoint.snapshot());
+        }
+        return snapshot;
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    private static final class Endpoint {
+
+        private final String method;
+        private final String pathTemplate;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder cancelled = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final LongAdder uncompressedBytesSent = new LongAdder();
+        private final LongAdder uncompressedBytesReceived = new LongAdder();
+        private final ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final Histogram timeToFirstByte = new ConcurrentHistogram(3);
+        private final Histogram deserialization = new ConcurrentHistogram(3);
+
+        Endpoint(String method, String pathTemplate) {
+            this.method = method;
+            this.pathTemplate = pathTemplate;
+        }
+
+        void record(RequestEvent event) {
+            requests.increment();
+            if (event.getError() instanceof CancellationException) {
+                cancelled.increment();
+            } else if (event.getError() instanceof RequestTimeoutException) {
+                timeouts.increment();
+            } else if (event.getError() != null) {
+                errors.increment();
+            }
+            if (event.getAttempt() > 1) {
+                retries.increment();
+            }
+            if (event.getError() instanceof CircuitBreakerOpenException) {
+                rejected.increment();
+            }
+            bytesSent.add(event.getBytesSent());
+            bytesReceived.add(event.getBytesReceived());
+            uncompressedBytesSent.add(event.getUncompressedBytesSent());
+            uncompressedBytesReceived.add(event.getUncompressedBytesReceived());
+            statuses.computeIfAbsent(event.getStatusCode(), status -> new LongAdder()).increment();
+            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(event.getTotalNanos()));
+            if (event.getTimeToFirstByteNanos() > 0) {
+                timeToFirstByte.recordValue(TimeUnit.NANOSECONDS.toMicros(event.getTimeToFirstByteNanos()));
+            }
+        }
+
+        void recordDecode(long nanos) {
+            deserialization.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+        }
+
+        MetricsSnapshot.EndpointSnapshot snapshot() {
+            MetricsSnapshot.EndpointSnapshot snapshot = new MetricsSnapshot.EndpointSnapshot();
+            snapshot.method = method;
+            snapshot.pathTemplate = pathTemplate;
+            snapshot.requests = requests.sum();
+            snapshot.errors = errors.sum();
+            snapshot.retries = retries.sum();
+            snapshot.rejectedByCircuitBreaker = rejected.sum();
+            snapshot.cancelled = cancelled.sum();
+            snapshot.timeouts = timeouts.sum();
+            snapshot.bytesSent = bytesSent.sum();
+            snapshot.bytesReceived = bytesReceived.sum();
+            snapshot.uncompressedBytesSent = uncompressedBytesSent.sum();
+            snapshot.uncompressedBytesReceived = uncompressedBytesReceived.sum();
+            snapshot.bytesSavedByCompression = snapshot.uncompressedBytesSent - snapshot.bytesSent
+                    + snapshot.uncompressedBytesReceived - snapshot.bytesReceived;
+            Map<String, Long> statusCounts = new TreeMap<>();
+            statuses.forEach((status, count) -> statusCounts.put(status < 0 ? "error" : String.valueOf(status), count.sum()));
+            snapshot.statusCounts = statusCounts;
+            snapshot.latency = MetricsSnapshot.Percentiles.of(latency);
+            snapshot.timeToFirstByte = MetricsSnapshot.Percentiles.of(timeToFirstByte);
+            snapshot.deserialization = MetricsSnapshot.Percentiles.of(deserialization);
+            return snapshot;
+        }
+    }
+}
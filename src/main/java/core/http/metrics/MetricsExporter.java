@@ -0,0 +1,34 @@
+package core.http.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import core.http.JsonCodec;
+import io.qameta.allure.Allure;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes {@link MetricsSnapshot}s as JSON to a file or attaches them to the current Allure report.
+ */
+public final class MetricsExporter {
+
+    private MetricsExporter() {
+    }
+
+    public static void writeJson(MetricsSnapshot snapshot, Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        JsonCodec.getDefault().getMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), snapshot);
+    }
+
+    public static void attachToAllure(MetricsSnapshot snapshot) {
+        try {
+            String json = JsonCodec.getDefault().getMapper().writerWithDefaultPrettyPrinter().writeValueAsString(snapshot);
+            Allure.addAttachment("HTTP client metrics", "application/json", json, ".json");
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize HTTP client metrics", e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package core.http.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Point-in-time copy of {@link ClientMetrics}, shaped for JSON export. Latencies are in milliseconds.
+ */
+public class MetricsSnapshot {
+
+    public String generatedAt = Instant.now().toString();
+    public List<EndpointSnapshot> endpoints = new ArrayList<>();
+    public List<CircuitBreakerSnapshot> circuitBreakers = new ArrayList<>();
+    public List<HedgeSnapshot> hedges = new ArrayList<>();
+    public List<CacheSnapshot> caches = new ArrayList<>();
+    public Map<String, Long> coalescedGets = new TreeMap<>();
+    public List<RateLimiterSnapshot> rateLimiters = new ArrayList<>();
+    public List<ConnectionSnapshot> connections = new ArrayList<>();
+
+    public static class EndpointSnapshot {
+        public String method;
+        public String pathTemplate;
+        public long requests;
+        public long errors;
+        public long retries;
+        public long rejectedByCircuitBreaker;
+        public long cancelled;
+        public long timeouts;
+        public long bytesSent;
+        public long bytesReceived;
+        public long uncompressedBytesSent;
+        public long uncompressedBytesReceived;
+        public long bytesSavedByCompression;
+        public Map<String, Long> statusCounts;
+        public Percentiles latency;
+        public Percentiles timeToFirstByte;
+        public Percentiles deserialization;
+    }
+
+    public static class CircuitBreakerSnapshot {
+        public String endpoint;
+        public String state;
+        public int consecutiveFailures;
+        public long timesOpened;
+        public long rejected;
+    }
+
+    public static class HedgeSnapshot {
+        public String endpoint;
+        public long requests;
+        public long hedgesFired;
+        public long hedgesWon;
+        public double hedgeDelayMs;
+    }
+
+    public static class CacheSnapshot {
+        public String baseUrl;
+        public int entries;
+        public long hits;
+        public long misses;
+        public double hitRatio;
+        public long revalidations;
+        public long evictions;
+        public long invalidations;
+    }
+
+    public static class RateLimiterSnapshot {
+        public String bucket;
+        public double configuredRate;
+        public double currentRate;
+        public long acquired;
+        public long delayed;
+        public long throttled;
+        public Percentiles wait;
+    }
+
+    /**
+     * Connection use per client. Opened and reused counts come from the in-process stub and are {@code -1}
+     * against any other host, since the JDK {@code HttpClient} does not expose its connection pool.
+     */
+    public static class ConnectionSnapshot {
+        public String baseUrl;
+        public String preferredVersion;
+        public long http2Responses;
+        public long http11Responses;
+        public int peakInFlight;
+        public long connectionsOpened;
+        public long connectionsReused;
+    }
+
+    public static class Percentiles {
+        public long count;
+        public double meanMs;
+        public double p50Ms;
+        public double p90Ms;
+        public double p99Ms;
+        public double maxMs;
+
+        public static Percentiles of(Histogram live) {
+            Histogram histogram = live.copy();
+            Percentiles percentiles = new Percentiles();
+            percentiles.count = histogram.getTotalCount();
+            percentiles.meanMs = histogram.getMean() / 1000.0;
+            percentiles.p50Ms = histogram.getValueAtPercentile(50) / 1000.0;
+            percentiles.p90Ms = histogram.getValueAtPercentile(90) / 1000.0;
+            percentiles.p99Ms = histogram.getValueAtPercentile(99) / 1000.0;
+            percentiles.maxMs = histogram.getMaxValue() / 1000.0;
+            return percentiles;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package core.http.ratelimit;
+
+import configs.ConfigLoader;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Client-side rate limit for one host: a host-wide {@link TokenBucket} plus optional buckets per path prefix.
+ * <p>
+ * {@code http.ratelimit.hosts} and {@code http.ratelimit.prefixes} are comma separated {@code key:rate} lists, e.g.
+ * {@code fakerestapi.azurewebsites.net:100} and {@code /api/v1/Books:40,/api/v1/Authors:40}; hosts not listed use
+ * {@code http.ratelimit.rate}. A request takes a token from the host bucket and from the longest matching prefix
+ * bucket and waits for whichever is later. In {@code blocking} mode the thread of a blocking call such as
+ * {@code get} parks; async calls, hedges and retries, and every request in {@code async} mode, are scheduled on the
+ * client executor instead.
+ */
+public class RateLimiter {
+
+    public enum Mode {
+        ASYNC, BLOCKING
+    }
+
+    public static final RateLimiter DISABLED = new RateLimiter(null, List.of(), Mode.ASYNC);
+
+    private final TokenBucket host;
+    private final List<Map.Entry<String, TokenBucket>> prefixes;
+    private final Mode mode;
+
+    public RateLimiter(TokenBucket host, List<Map.Entry<String, TokenBucket>> prefixes, Mode mode) {
+        this.host = host;
+        List<Map.Entry<String, TokenBucket>> sorted = new ArrayList<>(prefixes);
+        sorted.sort(Comparator.comparingInt((Map.Entry<String, TokenBucket> entry) -> entry.getKey().length()).reversed());
+        this.prefixes = Collections.unmodifiableList(sorted);
+        this.mode = mode;
+    }
+
+    public static RateLimiter fromConfig(String baseUrl) {
+        if (!Boolean.parseBoolean(ConfigLoader.getProperty("http.ratelimit.enabled"))) {
+            return DISABLED;
+        }
+        int burst = Integer.parseInt(ConfigLoader.getProperty("http.ratelimit.burst"));
+        String hostName = URI.create(baseUrl).getHost();
+        double hostRate = parseRates(ConfigLoader.getProperty("http.ratelimit.hosts"))
+                .getOrDefault(hostName, Double.parseDouble(ConfigLoader.getProperty("http.ratelimit.rate")));
+        List<Map.Entry<String, TokenBucket>> prefixes = new ArrayList<>();
+        parseRates(ConfigLoader.getProperty("http.ratelimit.prefixes")).forEach((prefix, rate) ->
+                prefixes.add(Map.entry(prefix, new TokenBucket(hostName + prefix, rate, burst))));
+        return new RateLimiter(new TokenBucket(hostName, hostRate, burst), prefixes,
+                Mode.valueOf(ConfigLoader.getProperty("http.ratelimit.mode").trim().toUpperCase()));
+    }
+
+    public static Map<String, Double> parseRates(String rates) {
+        Map<String, Double> parsed = new LinkedHashMap<>();
+        if (rates == null || rates.isBlank()) {
+            return parsed;
+        }
+        for (String entry : rates.split(",")) {
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid rate limit entry: " + entry);
+            }
+            parsed.put(entry.substring(0, separator).trim(), Double.parseDouble(entry.substring(separator + 1).trim()));
+        }
+        return parsed;
+    }
+
+    public boolean isEnabled() {
+        return host != null;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Takes a token for {@code path} and returns the nanoseconds to wait before sending.
+     */
+    public long reserve(String path) {
+        if (host == null) {
+            return 0;
+        }
+        long wait = host.reserve();
+        TokenBucket prefix = prefixBucket(path);
+        return prefix == null ? wait : Math.max(wait, prefix.reserve());
+    }
+
+    /**
+     * Blocking acquire: parks the calling thread until a token for {@code path} is available.
+     */
+    public void acquire(String path) {
+        long deadline = System.nanoTime() + reserve(path);
+        for (long wait = deadline - System.nanoTime(); wait > 0; wait = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    public void onResponse(String path, int statusCode) {
+        if (host == null) {
+            return;
+        }
+        TokenBucket prefix = prefixBucket(path);
+        if (statusCode == 429) {
+            host.onThrottled();
+            if (prefix != null) {
+                prefix.onThrottled();
+            }
+        } else if (statusCode > 0 && statusCode < 500) {
+            host.onSuccess();
+            if (prefix != null) {
+                prefix.onSuccess();
+            }
+        }
+    }
+
+    public List<TokenBucket> getBuckets() {
+        List<TokenBucket> buckets = new ArrayList<>();
+        if (host != null) {
+            buckets.add(host);
+        }
+        prefixes.forEach(entry -> buckets.add(entry.getValue()));
+        return buckets;
+    }
+
+    private TokenBucket prefixBucket(String path) {
+        for (Map.Entry<String, TokenBucket> entry : prefixes) {
+            if (path.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
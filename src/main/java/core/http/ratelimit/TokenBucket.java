@@ -0,0 +1,112 @@
+package core.http.ratelimit;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free token bucket of {@code burst} tokens refilled at {@code ratePerSecond}, kept as a single theoretical
+ * arrival time (GCRA) updated by CAS.
+ * <p>
+ * The rate adapts to the server: every 429 halves it (down to 1/16 of the configured rate), and each success
+ * afterwards adds back 1% of the configured rate until it is restored.
+ */
+public class TokenBucket {
+
+    private static final double MIN_RATE_FRACTION = 1.0 / 16;
+    private static final double RECOVERY_FRACTION = 0.01;
+
+    private final String name;
+    private final double configuredRate;
+    private final int burst;
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+    private final AtomicLong currentRateBits;
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final Histogram waitMicros = new ConcurrentHistogram(3);
+
+    public TokenBucket(String name, double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate for " + name + " must be positive: " + ratePerSecond);
+        }
+        this.name = name;
+        this.configuredRate = ratePerSecond;
+        this.burst = Math.max(1, burst);
+        this.currentRateBits = new AtomicLong(Double.doubleToLongBits(ratePerSecond));
+    }
+
+    /**
+     * Takes one token and returns how long the caller has to wait before using it; 0 means go now.
+     */
+    public long reserve() {
+        long interval = intervalNanos();
+        long tolerance = interval * (burst - 1);
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long start = Math.max(tat, now);
+            if (theoreticalArrival.compareAndSet(tat, start + interval)) {
+                long wait = Math.max(0, tat - tolerance - now);
+                acquired.increment();
+                if (wait > 0) {
+                    delayed.increment();
+                }
+                waitMicros.recordValue(TimeUnit.NANOSECONDS.toMicros(wait));
+                return wait;
+            }
+        }
+    }
+
+    public void onThrottled() {
+        throttled.increment();
+        currentRateBits.updateAndGet(bits -> Double.doubleToLongBits(
+                Math.max(configuredRate * MIN_RATE_FRACTION, Double.longBitsToDouble(bits) / 2)));
+    }
+
+    public void onSuccess() {
+        if (getCurrentRate() < configuredRate) {
+            currentRateBits.updateAndGet(bits -> Double.doubleToLongBits(
+                    Math.min(configuredRate, Double.longBitsToDouble(bits) + configuredRate * RECOVERY_FRACTION)));
+        }
+    }
+
+    private long intervalNanos() {
+        return (long) (TimeUnit.SECONDS.toNanos(1) / getCurrentRate());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getConfiguredRate() {
+        return configuredRate;
+    }
+
+    public double getCurrentRate() {
+        return Double.longBitsToDouble(currentRateBits.get());
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public long getAcquired() {
+        return acquired.sum();
+    }
+
+    public long getDelayed() {
+        return delayed.sum();
+    }
+
+    public long getThrottled() {
+        return throttled.sum();
+    }
+
+    public Histogram getWaitMicros() {
+        return waitMicros;
+    }
+}
@@ -0,0 +1,135 @@
+package core.http.replay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One recorded exchange. On disk a record is an {@code int} payload length followed by the payload: start offset
+ * and duration in nanoseconds, status, method, path, request body, response headers and response body. Strings
+ * and byte arrays are length-prefixed, strings are UTF-8. The start offset, measured from when the recording
+ * archive was opened, is informational: replay only uses the duration.
+ */
+public class ArchiveRecord {
+
+    private final long startOffsetNanos;
+    private final long durationNanos;
+    private final int statusCode;
+    private final String method;
+    private final String path;
+    private final byte[] requestBody;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+
+    public ArchiveRecord(long startOffsetNanos, long durationNanos, int statusCode, String method, String path,
+                         byte[] requestBody, Map<String, List<String>> headers, byte[] body) {
+        this.startOffsetNanos = startOffsetNanos;
+        this.durationNanos = durationNanos;
+        this.statusCode = statusCode;
+        this.method = method;
+        this.path = path;
+        this.requestBody = requestBody == null ? new byte[0] : requestBody;
+        this.headers = headers;
+        this.body = body == null ? new byte[0] : body;
+    }
+
+    byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + path.length() + requestBody.length + body.length);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(startOffsetNanos);
+        out.writeLong(durationNanos);
+        out.writeInt(statusCode);
+        writeString(out, method);
+        writeString(out, path);
+        writeBytes(out, requestBody);
+        out.writeInt(headers.size());
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            writeString(out, header.getKey());
+            out.writeInt(header.getValue().size());
+            for (String value : header.getValue()) {
+                writeString(out, value);
+            }
+        }
+        writeBytes(out, body);
+        return bytes.toByteArray();
+    }
+
+    static ArchiveRecord decode(ByteBuffer in) {
+        long startOffsetNanos = in.getLong();
+        long durationNanos = in.getLong();
+        int statusCode = in.getInt();
+        String method = readString(in);
+        String path = readString(in);
+        byte[] requestBody = readBytes(in);
+        int headerCount = in.getInt();
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (int i = 0; i < headerCount; i++) {
+            String name = readString(in);
+            int valueCount = in.getInt();
+            List<String> values = new ArrayList<>(valueCount);
+            for (int j = 0; j < valueCount; j++) {
+                values.add(readString(in));
+            }
+            headers.put(name, values);
+        }
+        byte[] body = readBytes(in);
+        return new ArchiveRecord(startOffsetNanos, durationNanos, statusCode, method, path, requestBody, headers, body);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static String readString(ByteBuffer in) {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(ByteBuffer in) {
+        byte[] value = new byte[in.getInt()];
+        in.get(value);
+        return value;
+    }
+
+    public long getStartOffsetNanos() {
+        return startOffsetNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public byte[] getRequestBody() {
+        return requestBody;
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+}
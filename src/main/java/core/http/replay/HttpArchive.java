@@ -0,0 +1,243 @@
+package core.http.replay;
+
+import configs.ConfigLoader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Append-only archive of HTTP exchanges for recording a run against the live host and replaying it later.
+ * <p>
+ * In {@code record} mode every completed exchange is appended as one {@link ArchiveRecord}. In {@code replay} mode
+ * the file is memory-mapped and each request is answered with the next recorded response for the same method,
+ * path and request body, falling back to method and path when the body differs (e.g. generated timestamps).
+ * Each response is delayed by its recorded latency divided by {@code http.archive.speed}; 0 replays instantly.
+ * Requests are answered when they are made, so replay reproduces per-response latency, not the original
+ * arrival pattern. Bodies are recorded as the client saw them, after inflation, so {@code Content-Encoding}
+ * and {@code Content-Length} are not recorded. Archives are mapped into a single buffer, which limits
+ * replay to 2 GB.
+ */
+public class HttpArchive implements AutoCloseable {
+
+    public enum Mode {
+        OFF, RECORD, REPLAY
+    }
+
+    public static final HttpArchive OFF = new HttpArchive(Mode.OFF, 0, null, null);
+
+    private static final int MAGIC = 0x46524131;
+    private static final Set<String> UNRECORDED_HEADERS = Set.of("content-encoding", "content-length");
+    private static volatile HttpArchive shared;
+
+    private final Mode mode;
+    private final double speed;
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final long openedAt = System.nanoTime();
+    private final Map<String, List<Integer>> offsets = new HashMap<>();
+    private final Map<String, AtomicInteger> cursors = new HashMap<>();
+
+    private HttpArchive(Mode mode, double speed, FileChannel channel, MappedByteBuffer mapped) {
+        this.mode = mode;
+        this.speed = speed;
+        this.channel = channel;
+        this.mapped = mapped;
+        if (mapped != null) {
+            index();
+        }
+    }
+
+    public static HttpArchive shared() {
+        HttpArchive archive = shared;
+        if (archive == null) {
+            synchronized (HttpArchive.class) {
+                archive = shared;
+                if (archive == null) {
+                    archive = fromConfig();
+                    shared = archive;
+                }
+            }
+        }
+        return archive;
+    }
+
+    public static void closeShared() {
+        synchronized (HttpArchive.class) {
+            if (shared != null) {
+                shared.close();
+                shared = null;
+            }
+        }
+    }
+
+    public static HttpArchive fromConfig() {
+        Mode mode = Mode.valueOf(ConfigLoader.getProperty("http.archive.mode").trim().toUpperCase());
+        Path file = Path.of(ConfigLoader.getProperty("http.archive.file"));
+        try {
+            switch (mode) {
+                case RECORD:
+                    return recording(file);
+                case REPLAY:
+                    return replaying(file, Double.parseDouble(ConfigLoader.getProperty("http.archive.speed")));
+                default:
+                    return OFF;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open HTTP archive " + file, e);
+        }
+    }
+
+    public static HttpArchive recording(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (channel.size() == 0) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(MAGIC).flip());
+        }
+        return new HttpArchive(Mode.RECORD, 0, channel, null);
+    }
+
+    public static HttpArchive replaying(Path file, double speed) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is " + channel.size() + " bytes; archives over 2 GB cannot be replayed,"
+                        + " record into a new file");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.remaining() < Integer.BYTES || mapped.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not an HTTP archive");
+            }
+            return new HttpArchive(Mode.REPLAY, speed, null, mapped);
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public boolean isRecording() {
+        return mode == Mode.RECORD;
+    }
+
+    public boolean isReplaying() {
+        return mode == Mode.REPLAY;
+    }
+
+    /**
+     * Appends one exchange.
+     *
+     * @throws IOException when the archive cannot be written; the archive would otherwise be silently incomplete
+     */
+    public void record(String method, String path, byte[] requestBody, HttpResponse<byte[]> response,
+                       long startNanos, long durationNanos) throws IOException {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        response.headers().map().forEach((name, values) -> {
+            if (!UNRECORDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, values);
+            }
+        });
+        ArchiveRecord record = new ArchiveRecord(startNanos - openedAt, durationNanos, response.statusCode(), method,
+                path, requestBody, headers, response.body());
+        byte[] payload = record.encode();
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + payload.length).putInt(payload.length).put(payload).flip();
+        synchronized (channel) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> replay(HttpRequest request, String method, String path,
+                                                          byte[] requestBody, Executor executor) {
+        ArchiveRecord record = next(method, path, requestBody);
+        if (record == null) {
+            return CompletableFuture.failedFuture(new IOException("No recorded exchange for " + method + " " + path));
+        }
+        HttpResponse<byte[]> response = new ReplayedResponse(request, record);
+        if (speed <= 0) {
+            return CompletableFuture.completedFuture(response);
+        }
+        long delay = (long) (record.getDurationNanos() / speed);
+        return CompletableFuture.supplyAsync(() -> response, CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, executor));
+    }
+
+    private ArchiveRecord next(String method, String path, byte[] requestBody) {
+        String key = exactKey(method, path, requestBody);
+        List<Integer> candidates = offsets.get(key);
+        if (candidates == null) {
+            key = looseKey(method, path);
+            candidates = offsets.get(key);
+        }
+        if (candidates == null) {
+            return null;
+        }
+        int index = Math.floorMod(cursors.get(key).getAndIncrement(), candidates.size());
+        ByteBuffer payload = mapped.duplicate();
+        payload.position(candidates.get(index) + Integer.BYTES);
+        return ArchiveRecord.decode(payload);
+    }
+
+    private void index() {
+        ByteBuffer buffer = mapped.duplicate();
+        buffer.position(Integer.BYTES);
+        while (buffer.remaining() >= Integer.BYTES) {
+            int offset = buffer.position();
+            int length = buffer.getInt();
+            if (length > buffer.remaining()) {
+                break;
+            }
+            ByteBuffer payload = buffer.slice();
+            payload.limit(length);
+            ArchiveRecord record = ArchiveRecord.decode(payload);
+            add(exactKey(record.getMethod(), record.getPath(), record.getRequestBody()), offset);
+            add(looseKey(record.getMethod(), record.getPath()), offset);
+            buffer.position(offset + Integer.BYTES + length);
+        }
+    }
+
+    private void add(String key, int offset) {
+        offsets.computeIfAbsent(key, k -> new ArrayList<>()).add(offset);
+        cursors.computeIfAbsent(key, k -> new AtomicInteger());
+    }
+
+    private static String exactKey(String method, String path, byte[] requestBody) {
+        return method + " " + path + " #" + Arrays.hashCode(requestBody == null ? new byte[0] : requestBody);
+    }
+
+    private static String looseKey(String method, String path) {
+        return method + " " + path;
+    }
+
+    @Override
+    public void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package core.http.replay;
+
+import javax.net.ssl.SSLSession;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+
+final class ReplayedResponse implements HttpResponse<byte[]> {
+
+    private final HttpRequest request;
+    private final ArchiveRecord record;
+    private final HttpHeaders headers;
+
+    ReplayedResponse(HttpRequest request, ArchiveRecord record) {
+        this.request = request;
+        this.record = record;
+        this.headers = HttpHeaders.of(record.getHeaders(), (name, value) -> true);
+    }
+
+    @Override
+    public int statusCode() {
+        return record.getStatusCode();
+    }
+
+    @Override
+    public HttpRequest request() {
+        return request;
+    }
+
+    @Override
+    public Optional<HttpResponse<byte[]>> previousResponse() {
+        return Optional.empty();
+    }
+
+    @Override
+    public HttpHeaders headers() {
+        return headers;
+    }
+
+    @Override
+    public byte[] body() {
+        return record.getBody();
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession() {
+        return Optional.empty();
+    }
+
+    @Override
+    public URI uri() {
+        return request.uri();
+    }
+
+    @Override
+    public HttpClient.Version version() {
+        return HttpClient.Version.HTTP_1_1;
+    }
+}
@@ -0,0 +1,139 @@
+package core.http.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Consecutive-failure circuit breaker for one endpoint.
+ * <p>
+ * After {@code failureThreshold} failures in a row the breaker opens and rejects calls for {@code openDuration}.
+ * It then lets {@code halfOpenProbes} calls through; one success closes it again, one failure reopens it.
+ * Outcomes of calls that were already in flight when the breaker opened are ignored while it is open.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger probesInFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timesOpened = new LongAdder();
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, int halfOpenProbes) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            Status current = status.get();
+            switch (current.state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (System.nanoTime() - current.openedAt < openNanos) {
+                        rejected.increment();
+                        return false;
+                    }
+                    if (status.compareAndSet(current, Status.HALF_OPEN)) {
+                        probesInFlight.set(0);
+                    }
+                    break;
+                case HALF_OPEN:
+                    int probes = probesInFlight.get();
+                    if (probes >= halfOpenProbes) {
+                        rejected.increment();
+                        return false;
+                    }
+                    if (probesInFlight.compareAndSet(probes, probes + 1)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown state " + current.state);
+            }
+        }
+    }
+
+    public void onSuccess() {
+        Status current = status.get();
+        if (current.state == State.CLOSED) {
+            consecutiveFailures.set(0);
+        } else if (current.state == State.HALF_OPEN && status.compareAndSet(current, Status.CLOSED)) {
+            consecutiveFailures.set(0);
+        }
+    }
+
+    /**
+     * Releases a call that was cancelled before its outcome was known, without counting it either way.
+     */
+    public void onCancel() {
+        if (status.get().state == State.HALF_OPEN) {
+            probesInFlight.updateAndGet(probes -> Math.max(0, probes - 1));
+        }
+    }
+
+    public void onFailure() {
+        Status current = status.get();
+        if (current.state == State.OPEN) {
+            return;
+        }
+        if (current.state == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open(current);
+        }
+    }
+
+    /**
+     * The open window starts with the transition that wins, so concurrent or late failures cannot extend it.
+     */
+    private void open(Status from) {
+        if (status.compareAndSet(from, new Status(State.OPEN, System.nanoTime()))) {
+            timesOpened.increment();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return status.get().state;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getTimesOpened() {
+        return timesOpened.sum();
+    }
+
+    private static final class Status {
+
+        static final Status CLOSED = new Status(State.CLOSED, 0);
+        static final Status HALF_OPEN = new Status(State.HALF_OPEN, 0);
+
+        final State state;
+        final long openedAt;
+
+        Status(State state, long openedAt) {
+            this.state = state;
+            this.openedAt = openedAt;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package core.http.resilience;
+
+/**
+ * Thrown instead of sending a request while the endpoint's circuit breaker is open.
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CircuitBreakerOpenException(String endpoint) {
+        super("Circuit breaker is open for " + endpoint);
+    }
+}
@@ -0,0 +1,135 @@
+package core.http.resilience;
+
+import configs.ConfigLoader;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in hedging for idempotent GETs.
+ * <p>
+ * When a GET is still outstanding after the endpoint's {@code percentile} latency, a duplicate is sent and the
+ * first successful response wins. Until {@code minSamples} latencies have been seen the fixed {@code initialDelay}
+ * is used instead. Hedges per endpoint are capped at {@code budgetPercent} of its requests.
+ */
+public class HedgePolicy {
+
+    public static final HedgePolicy DISABLED = new HedgePolicy(false, 95, Duration.ZERO, 0, 0);
+
+    private static final int REFRESH_EVERY = 32;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final Duration initialDelay;
+    private final double budgetRatio;
+    private final long minSamples;
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public HedgePolicy(boolean enabled, double percentile, Duration initialDelay, double budgetPercent, long minSamples) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.initialDelay = initialDelay;
+        this.budgetRatio = budgetPercent / 100.0;
+        this.minSamples = minSamples;
+    }
+
+    public static HedgePolicy fromConfig() {
+        return new HedgePolicy(
+                Boolean.parseBoolean(ConfigLoader.getProperty("http.hedge.enabled")),
+                Double.parseDouble(ConfigLoader.getProperty("http.hedge.percentile")),
+                Duration.ofMillis(Long.parseLong(ConfigLoader.getProperty("http.hedge.initialDelayMs"))),
+                Double.parseDouble(ConfigLoader.getProperty("http.hedge.budgetPercent")),
+                Long.parseLong(ConfigLoader.getProperty("http.hedge.minSamples")));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the hedging state for {@code endpoint}, or {@code null} when hedging is disabled.
+     */
+    public Endpoint endpoint(String endpoint) {
+        if (!enabled) {
+            return null;
+        }
+        return endpoints.computeIfAbsent(endpoint, Endpoint::new);
+    }
+
+    public Collection<Endpoint> getEndpoints() {
+        return endpoints.values();
+    }
+
+    public class Endpoint {
+
+        private final String name;
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final LongAdder requests = new LongAdder();
+        private final AtomicLong fired = new AtomicLong();
+        private final LongAdder won = new LongAdder();
+        private volatile long delayNanos = initialDelay.toNanos();
+
+        Endpoint(String name) {
+            this.name = name;
+        }
+
+        public long delayNanos() {
+            return delayNanos;
+        }
+
+        public void onRequest() {
+            requests.increment();
+        }
+
+        public void recordLatency(long nanos) {
+            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+            long count = latency.getTotalCount();
+            if (count >= minSamples && count % REFRESH_EVERY == 0) {
+                delayNanos = TimeUnit.MICROSECONDS.toNanos(latency.getValueAtPercentile(percentile));
+            }
+        }
+
+        /**
+         * Claims one hedge from the budget; returns false when the endpoint has used its share.
+         */
+        public boolean tryHedge() {
+            long allowed = (long) (requests.sum() * budgetRatio);
+            while (true) {
+                long current = fired.get();
+                if (current >= allowed) {
+                    return false;
+                }
+                if (fired.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        public void onHedgeWon() {
+            won.increment();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getRequests() {
+            return requests.sum();
+        }
+
+        public long getFired() {
+            return fired.get();
+        }
+
+        public long getWon() {
+            return won.sum();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package core.http.resilience;
+
+import configs.ConfigLoader;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Retry, hedging and timeout policies plus one {@link CircuitBreaker} per endpoint path template, as used by a single RestClient.
+ * A response counts as a breaker failure when the call failed outright or returned 429 or 5xx.
+ */
+public class Resilience {
+
+    private final RetryPolicy retryPolicy;
+    private final HedgePolicy hedgePolicy;
+    private final Timeouts timeouts;
+    private final boolean circuitEnabled;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final int halfOpenProbes;
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public Resilience(RetryPolicy retryPolicy, HedgePolicy hedgePolicy, Timeouts timeouts, boolean circuitEnabled,
+                      int failureThreshold, Duration openDuration, int halfOpenProbes) {
+        this.retryPolicy = retryPolicy;
+        this.hedgePolicy = hedgePolicy;
+        this.timeouts = timeouts;
+        this.circuitEnabled = circuitEnabled;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    public static Resilience disabled() {
+        return new Resilience(RetryPolicy.NONE, HedgePolicy.DISABLED, new Timeouts(Duration.ofSeconds(30), Map.of()),
+                false, Integer.MAX_VALUE, Duration.ZERO, 1);
+    }
+
+    public static Resilience fromConfig() {
+        return new Resilience(
+                RetryPolicy.fromConfig(),
+                HedgePolicy.fromConfig(),
+                Timeouts.fromConfig(),
+                Boolean.parseBoolean(ConfigLoader.getProperty("http.circuit.enabled")),
+                Integer.parseInt(ConfigLoader.getProperty("http.circuit.failureThreshold")),
+                Duration.ofMillis(Long.parseLong(ConfigLoader.getProperty("http.circuit.openMs"))),
+                Integer.parseInt(ConfigLoader.getProperty("http.circuit.halfOpenProbes")));
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public Timeouts getTimeouts() {
+        return timeouts;
+    }
+
+    public HedgePolicy getHedgePolicy() {
+        return hedgePolicy;
+    }
+
+    /**
+     * Returns the breaker for {@code endpoint}, or {@code null} when circuit breaking is disabled.
+     */
+    public CircuitBreaker breaker(String endpoint) {
+        if (!circuitEnabled) {
+            return null;
+        }
+        return breakers.computeIfAbsent(endpoint, name -> new CircuitBreaker(name, failureThreshold, openDuration, halfOpenProbes));
+    }
+
+    public Collection<CircuitBreaker> getBreakers() {
+        return breakers.values();
+    }
+
+    public static boolean isFailure(int statusCode, Throwable failure) {
+        return failure != null || statusCode == 429 || statusCode >= 500;
+    }
+}
@@ -0,0 +1,109 @@
+package core.http.resilience;
+
+import configs.ConfigLoader;
+import core.http.RequestTimeoutException;
+
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Decides whether a finished attempt is retried and how long to wait first.
+ * <p>
+ * GET, PUT and DELETE are retried on connection failures and on the configured statuses; POST is only retried
+ * on 429, where the server states it did not process the request. Delays use full-jitter exponential backoff
+ * unless the response carries a {@code Retry-After} header, which wins as long as it stays under
+ * {@code maxRetryAfter}.
+ */
+public class RetryPolicy {
+
+    public static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, Duration.ZERO, Duration.ZERO, Set.of());
+
+    private static final Set<String> IDEMPOTENT = Set.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Duration maxRetryAfter;
+    private final Set<Integer> retryableStatuses;
+
+    public RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay, Duration maxRetryAfter, Set<Integer> retryableStatuses) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.maxRetryAfter = maxRetryAfter;
+        this.retryableStatuses = Set.copyOf(retryableStatuses);
+    }
+
+    public static RetryPolicy fromConfig() {
+        return new RetryPolicy(
+                Integer.parseInt(ConfigLoader.getProperty("http.retry.maxAttempts")),
+                Duration.ofMillis(Long.parseLong(ConfigLoader.getProperty("http.retry.baseDelayMs"))),
+                Duration.ofMillis(Long.parseLong(ConfigLoader.getProperty("http.retry.maxDelayMs"))),
+                Duration.ofMillis(Long.parseLong(ConfigLoader.getProperty("http.retry.maxRetryAfterMs"))),
+                Arrays.stream(ConfigLoader.getProperty("http.retry.statuses").split(","))
+                        .map(String::trim)
+                        .filter(status -> !status.isEmpty())
+                        .map(Integer::valueOf)
+                        .collect(Collectors.toSet()));
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Returns the delay before the next attempt, or empty when the outcome is final.
+     */
+    public Optional<Duration> nextDelay(String method, int attempt, int statusCode, HttpHeaders headers, Throwable failure) {
+        if (attempt >= maxAttempts) {
+            return Optional.empty();
+        }
+        boolean idempotent = IDEMPOTENT.contains(method);
+        if (failure != null) {
+            return idempotent && isTransient(failure) ? Optional.of(backoff(attempt)) : Optional.empty();
+        }
+        if (!retryableStatuses.contains(statusCode) || (!idempotent && statusCode != 429)) {
+            return Optional.empty();
+        }
+        Optional<Duration> retryAfter = retryAfter(headers);
+        if (retryAfter.isPresent()) {
+            return retryAfter.get().compareTo(maxRetryAfter) <= 0 ? retryAfter : Optional.empty();
+        }
+        return Optional.of(backoff(attempt));
+    }
+
+    private Duration backoff(int attempt) {
+        long ceiling = Math.min(maxDelay.toMillis(), baseDelay.toMillis() << Math.min(attempt - 1, 20));
+        return Duration.ofMillis(ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    private static boolean isTransient(Throwable failure) {
+        return failure instanceof java.io.IOException || failure instanceof RequestTimeoutException;
+    }
+
+    static Optional<Duration> retryAfter(HttpHeaders headers) {
+        if (headers == null) {
+            return Optional.empty();
+        }
+        return headers.firstValue("Retry-After").map(String::trim).flatMap(value -> {
+            try {
+                return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value))));
+            } catch (NumberFormatException e) {
+                try {
+                    Duration until = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME));
+                    return Optional.of(until.isNegative() ? Duration.ZERO : until);
+                } catch (DateTimeParseException ignored) {
+                    return Optional.empty();
+                }
+            }
+        });
+    }
+}
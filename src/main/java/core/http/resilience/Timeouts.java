@@ -0,0 +1,56 @@
+package core.http.resilience;
+
+import configs.ConfigLoader;
+import core.http.PathTemplates;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-call request timeouts. {@code http.timeouts} is a comma separated list of {@code key:millis} pairs where the
+ * key is {@code METHOD template}, a bare method or a bare path template, e.g.
+ * {@code GET /api/v1/Books:5000,POST:15000}. The most specific key wins; otherwise {@code http.timeout.ms} applies.
+ */
+public class Timeouts {
+
+    private final Duration defaultTimeout;
+    private final Map<String, Duration> overrides;
+
+    public Timeouts(Duration defaultTimeout, Map<String, Duration> overrides) {
+        this.defaultTimeout = defaultTimeout;
+        this.overrides = Map.copyOf(overrides);
+    }
+
+    public static Timeouts fromConfig() {
+        return new Timeouts(Duration.ofMillis(Long.parseLong(ConfigLoader.getProperty("http.timeout.ms"))),
+                parse(ConfigLoader.getProperty("http.timeouts")));
+    }
+
+    public static Map<String, Duration> parse(String timeouts) {
+        Map<String, Duration> parsed = new HashMap<>();
+        if (timeouts == null || timeouts.isBlank()) {
+            return parsed;
+        }
+        for (String entry : timeouts.split(",")) {
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid http.timeouts entry: " + entry);
+            }
+            parsed.put(entry.substring(0, separator).trim(), Duration.ofMillis(Long.parseLong(entry.substring(separator + 1).trim())));
+        }
+        return parsed;
+    }
+
+    public Duration forRequest(String method, String path) {
+        String template = PathTemplates.of(path);
+        Duration timeout = overrides.get(method + " " + template);
+        if (timeout == null) {
+            timeout = overrides.get(template);
+        }
+        if (timeout == null) {
+            timeout = overrides.get(method);
+        }
+        return timeout == null ? defaultTimeout : timeout;
+    }
+}
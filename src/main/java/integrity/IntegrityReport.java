@@ -0,0 +1,59 @@
+package integrity;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a {@link ReferentialIntegrityChecker} run. Only the first {@code sampleLimit} offending ids of each kind
+ * are listed; the counts always cover all of them.
+ */
+public class IntegrityReport {
+
+    public long books;
+    public long authors;
+    public long distinctBookIds;
+    public long duplicateBookIds;
+    public long duplicateAuthorIds;
+    public long orphanedAuthors;
+    public double elapsedMs;
+    public List<Integer> duplicateBookIdSample = new ArrayList<>();
+    public List<Integer> duplicateAuthorIdSample = new ArrayList<>();
+    public List<Orphan> orphanSample = new ArrayList<>();
+
+    public static class Orphan {
+        public int authorId;
+        public int idBook;
+
+        public Orphan() {
+        }
+
+        public Orphan(int authorId, int idBook) {
+            this.authorId = authorId;
+            this.idBook = idBook;
+        }
+
+        @Override
+        public String toString() {
+            return "author " + authorId + " -> book " + idBook;
+        }
+    }
+
+    public boolean isConsistent() {
+        return duplicateBookIds == 0 && duplicateAuthorIds == 0 && orphanedAuthors == 0;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("Books: %d (%d distinct, %d duplicate ids), authors: %d (%d duplicate ids), orphaned authors: %d, %.1f ms%n",
+                books, distinctBookIds, duplicateBookIds, authors, duplicateAuthorIds, orphanedAuthors, elapsedMs);
+        for (Orphan orphan : orphanSample) {
+            out.println("  " + orphan + " (missing)");
+        }
+        if (!duplicateBookIdSample.isEmpty()) {
+            out.println("  duplicate book ids: " + duplicateBookIdSample);
+        }
+        if (!duplicateAuthorIdSample.isEmpty()) {
+            out.println("  duplicate author ids: " + duplicateAuthorIdSample);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package integrity;
+
+import core.collections.IntArrayList;
+import core.collections.IntHashSet;
+import core.http.ClientExecutors;
+import core.http.Response;
+import model.AuthorsModel;
+import model.BookModel;
+import services.AuthorsService;
+import services.BooksService;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * Checks that every {@code AuthorsModel.idBook} points at an existing book and that book and author ids are unique.
+ * <p>
+ * Both collections are streamed concurrently, element by element, into primitive sets and arrays, so memory stays
+ * at a few bytes per record and no {@code Integer} is boxed. The authors are then validated in parallel on a
+ * fork-join pool against the read-only set of book ids.
+ */
+public class ReferentialIntegrityChecker {
+
+    private static final int SPLIT_THRESHOLD = 1 << 16;
+
+    private final BooksService books;
+    private final AuthorsService authors;
+    private final Executor executor;
+    private final ForkJoinPool pool;
+    private final int sampleLimit;
+
+    public ReferentialIntegrityChecker(BooksService books, AuthorsService authors) {
+        this(books, authors, ClientExecutors.shared(), ForkJoinPool.commonPool(), 100);
+    }
+
+    public ReferentialIntegrityChecker(BooksService books, AuthorsService authors, Executor executor, ForkJoinPool pool,
+                                       int sampleLimit) {
+        this.books = books;
+        this.authors = authors;
+        this.executor = executor;
+        this.pool = pool;
+        this.sampleLimit = sampleLimit;
+    }
+
+    public IntegrityReport check() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        CompletableFuture<Response<Stream<BookModel>>> bookCall = books.streamAllAsync();
+        CompletableFuture<Response<Stream<AuthorsModel>>> authorCall = authors.streamAllAsync();
+        Response<Stream<BookModel>> bookResponse;
+        Response<Stream<AuthorsModel>> authorResponse;
+        try {
+            bookResponse = await(bookCall);
+            requireSuccess("/api/v1/Books", bookResponse);
+            authorResponse = await(authorCall);
+            requireSuccess("/api/v1/Authors", authorResponse);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            discard(bookCall);
+            discard(authorCall);
+            throw e;
+        }
+
+        CompletableFuture<Ids> bookIds = CompletableFuture.supplyAsync(() -> {
+            Ids ids = new Ids(sampleLimit);
+            try (Stream<BookModel> elements = bookResponse.getBody()) {
+                elements.forEach(book -> ids.add(book.id));
+            }
+            return ids;
+        }, executor);
+        CompletableFuture<AuthorIds> authorIds = CompletableFuture.supplyAsync(() -> {
+            AuthorIds ids = new AuthorIds(sampleLimit);
+            try (Stream<AuthorsModel> elements = authorResponse.getBody()) {
+                elements.forEach(author -> ids.add(author.id, author.idBook));
+            }
+            return ids;
+        }, executor);
+
+        Ids bookResult;
+        AuthorIds authorResult;
+        try {
+            bookResult = bookIds.join();
+            authorResult = authorIds.join();
+        } catch (CompletionException e) {
+            bookIds.cancel(true);
+            authorIds.cancel(true);
+            throw new IOException("Failed to read books and authors", e.getCause());
+        }
+
+        Orphans orphans = pool.invoke(new OrphanScan(bookResult.seen, authorResult.all.elements(),
+                authorResult.references.elements(), 0, authorResult.all.size(), sampleLimit));
+
+        IntegrityReport report = new IntegrityReport();
+        report.books = bookResult.count;
+        report.distinctBookIds = bookResult.seen.size();
+        report.duplicateBookIds = bookResult.duplicates;
+        report.authors = authorResult.count;
+        report.duplicateAuthorIds = authorResult.duplicates;
+        report.orphanedAuthors = orphans.count;
+        for (int i = 0; i < bookResult.duplicateSample.size(); i++) {
+            report.duplicateBookIdSample.add(bookResult.duplicateSample.get(i));
+        }
+        for (int i = 0; i < authorResult.duplicateSample.size(); i++) {
+            report.duplicateAuthorIdSample.add(authorResult.duplicateSample.get(i));
+        }
+        for (int i = 0; i < orphans.sample.size(); i += 2) {
+            report.orphanSample.add(new IntegrityReport.Orphan(orphans.sample.get(i), orphans.sample.get(i + 1)));
+        }
+        report.elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+        return report;
+    }
+
+    private static <T> T await(CompletableFuture<T> call) throws IOException, InterruptedException {
+        try {
+            return call.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Releases the connection of a stream nobody will drain, whether or not its response has arrived yet.
+     */
+    private static void discard(CompletableFuture<? extends Response<? extends Stream<?>>> call) {
+        call.cancel(true);
+        call.thenAccept(response -> response.getBody().close());
+    }
+
+    private static void requireSuccess(String path, Response<?> response) throws IOException {
+        if (!response.isSuccessful()) {
+            throw new IOException("GET " + path + " returned " + response.getStatusCode());
+        }
+    }
+
+    /**
+     * The distinct ids of a collection, with a count of all of them and a sample of the duplicates.
+     */
+    private static class Ids {
+
+        final IntHashSet seen = new IntHashSet(1024);
+        final IntArrayList duplicateSample = new IntArrayList();
+        final int sampleLimit;
+        long count;
+        long duplicates;
+
+        Ids(int sampleLimit) {
+            this.sampleLimit = sampleLimit;
+        }
+
+        void add(int id) {
+            count++;
+            if (!seen.add(id)) {
+                duplicates++;
+                if (duplicateSample.size() < sampleLimit) {
+                    duplicateSample.add(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Author ids in arrival order, with the referenced book id at the same position.
+     */
+    private static final class AuthorIds extends Ids {
+
+        private final IntArrayList all = new IntArrayList(1024);
+        private final IntArrayList references = new IntArrayList(1024);
+
+        AuthorIds(int sampleLimit) {
+            super(sampleLimit);
+        }
+
+        void add(int id, int idBook) {
+            add(id);
+            all.add(id);
+            references.add(idBook);
+        }
+    }
+
+    private static final class Orphans {
+
+        private long count;
+        // authorId, idBook pairs
+        private final IntArrayList sample = new IntArrayList();
+    }
+
+    private static final class OrphanScan extends RecursiveTask<Orphans> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IntHashSet bookIds;
+        private final int[] authorIds;
+        private final int[] references;
+        private final int from;
+        private final int to;
+        private final int sampleLimit;
+
+        OrphanScan(IntHashSet bookIds, int[] authorIds, int[] references, int from, int to, int sampleLimit) {
+            this.bookIds = bookIds;
+            this.authorIds = authorIds;
+            this.references = references;
+            this.from = from;
+            this.to = to;
+            this.sampleLimit = sampleLimit;
+        }
+
+        @Override
+        protected Orphans compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                OrphanScan right = new OrphanScan(bookIds, authorIds, references, middle, to, sampleLimit);
+                right.fork();
+                Orphans left = new OrphanScan(bookIds, authorIds, references, from, middle, sampleLimit).compute();
+                return merge(left, right.join());
+            }
+            Orphans orphans = new Orphans();
+            for (int i = from; i < to; i++) {
+                if (!bookIds.contains(references[i])) {
+                    orphans.count++;
+                    if (orphans.sample.size() < 2 * sampleLimit) {
+                        orphans.sample.add(authorIds[i]);
+                        orphans.sample.add(references[i]);
+                    }
+                }
+            }
+            return orphans;
+        }
+
+        private Orphans merge(Orphans left, Orphans right) {
+            left.count += right.count;
+            for (int i = 0; i < right.sample.size() && left.sample.size() < 2 * sampleLimit; i++) {
+                left.sample.add(right.sample.get(i));
+            }
+            return left;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package load;
+
+import core.http.Response;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import services.AuthorsService;
+import services.BooksService;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator.
+ * <p>
+ * Requests are started on a fixed schedule regardless of how long earlier ones take, and each latency is measured
+ * from the request's scheduled start rather than from when it was actually sent. A stalled server therefore shows
+ * up in the percentiles instead of silently lowering the offered rate (coordinated omission). Requests still
+ * running when the drain timeout ends are recorded with status {@code TIMEOUT} and a latency up to that point.
+ */
+public class LoadGenerator {
+
+    private static final String ERROR_STATUS = "ERR";
+    private static final String TIMEOUT_STATUS = "TIMEOUT";
+
+    private final BooksService books;
+    private final AuthorsService authors;
+    private final LoadProfile profile;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Set<Pending> inFlight = ConcurrentHashMap.newKeySet();
+
+    public LoadGenerator(BooksService books, AuthorsService authors, LoadProfile profile) {
+        this.books = books;
+        this.authors = authors;
+        this.profile = profile;
+        Map<Operation, Integer> mix = profile.getMix();
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public LoadReport run(Duration drainTimeout) {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / profile.getRatePerSecond());
+        long start = System.nanoTime();
+        long end = start + profile.getDuration().toNanos();
+        long sent = 0;
+
+        for (long intended = start; intended < end; intended = start + (++sent) * intervalNanos) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            fire(pick(), intended);
+        }
+
+        long drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+        while (!inFlight.isEmpty() && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        // leaving the slowest requests out would flatter the tail percentiles
+        long unfinished = 0;
+        for (Pending pending : inFlight) {
+            if (pending.settle()) {
+                record(pending.operation, TIMEOUT_STATUS, drainDeadline - pending.intendedStart);
+                unfinished++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return LoadReport.of(profile, sent, unfinished, elapsed, histograms);
+    }
+
+    private void fire(Operation operation, long intendedStart) {
+        Pending pending = new Pending(operation, intendedStart);
+        inFlight.add(pending);
+        CompletableFuture<? extends Response<?>> call;
+        try {
+            call = operation.invoke(books, authors, ThreadLocalRandom.current());
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((response, error) -> {
+            if (pending.settle()) {
+                String status = error == null ? String.valueOf(response.getStatusCode()) : ERROR_STATUS;
+                record(operation, status, System.nanoTime() - intendedStart);
+            }
+            inFlight.remove(pending);
+        });
+    }
+
+    private void record(Operation operation, String status, long latencyNanos) {
+        String key = operation + " " + status;
+        histograms.computeIfAbsent(key, k -> new ConcurrentHistogram(3))
+                .recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    }
+
+    private Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * A started request; recorded exactly once, either when it completes or when the drain times out.
+     */
+    private static final class Pending {
+        private final Operation operation;
+        private final long intendedStart;
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private Pending(Operation operation, long intendedStart) {
+            this.operation = operation;
+            this.intendedStart = intendedStart;
+        }
+
+        private boolean settle() {
+            return settled.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package load;
+
+import configs.ConfigLoader;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Target arrival rate, run length and weighted operation mix for a load run.
+ * <p>
+ * {@code load.mix} is a comma separated list of {@code OPERATION:weight} pairs, e.g.
+ * {@code BOOKS_GET_BY_ID:60,BOOKS_CREATE:10,AUTHORS_GET_BY_ID:30}.
+ */
+public class LoadProfile {
+
+    private final double ratePerSecond;
+    private final Duration duration;
+    private final Map<Operation, Integer> mix;
+
+    public LoadProfile(double ratePerSecond, Duration duration, Map<Operation, Integer> mix) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("load.rate must be positive: " + ratePerSecond);
+        }
+        if (mix.isEmpty() || mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("load.mix must contain at least one positive weight");
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+        this.mix = new EnumMap<>(mix);
+    }
+
+    public static LoadProfile fromConfig() {
+        return new LoadProfile(
+                Double.parseDouble(ConfigLoader.getProperty("load.rate")),
+                Duration.ofSeconds(Long.parseLong(ConfigLoader.getProperty("load.duration.seconds"))),
+                parseMix(ConfigLoader.getProperty("load.mix")));
+    }
+
+    public static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + entry);
+            }
+            weights.merge(Operation.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()), Integer::sum);
+        }
+        return weights;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+}
@@ -0,0 +1,83 @@
+package load;
+
+import core.http.JsonCodec;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a load run: offered vs achieved rate and latency percentiles per operation and status code.
+ * Latencies are in milliseconds.
+ */
+public class LoadReport {
+
+    public double targetRatePerSecond;
+    public double achievedRatePerSecond;
+    public double elapsedSeconds;
+    public long requestsSent;
+    public long requestsUnfinished;
+    public List<OperationStats> operations = new ArrayList<>();
+
+    public static class OperationStats {
+        public String operation;
+        public String status;
+        public long count;
+        public double meanMs;
+        public double p50Ms;
+        public double p90Ms;
+        public double p99Ms;
+        public double p999Ms;
+        public double maxMs;
+    }
+
+    static LoadReport of(LoadProfile profile, long sent, long unfinished, long elapsedNanos, Map<String, Histogram> histograms) {
+        LoadReport report = new LoadReport();
+        report.targetRatePerSecond = profile.getRatePerSecond();
+        report.elapsedSeconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        report.requestsSent = sent;
+        report.requestsUnfinished = unfinished;
+        report.achievedRatePerSecond = (sent - unfinished) / report.elapsedSeconds;
+
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            String[] key = entry.getKey().split(" ");
+            Histogram histogram = entry.getValue().copy();
+            OperationStats stats = new OperationStats();
+            stats.operation = key[0];
+            stats.status = key[1];
+            stats.count = histogram.getTotalCount();
+            stats.meanMs = histogram.getMean() / 1000.0;
+            stats.p50Ms = histogram.getValueAtPercentile(50) / 1000.0;
+            stats.p90Ms = histogram.getValueAtPercentile(90) / 1000.0;
+            stats.p99Ms = histogram.getValueAtPercentile(99) / 1000.0;
+            stats.p999Ms = histogram.getValueAtPercentile(99.9) / 1000.0;
+            stats.maxMs = histogram.getMaxValue() / 1000.0;
+            report.operations.add(stats);
+        }
+        return report;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("Target rate: %.1f req/s, achieved: %.1f req/s, sent: %d, unfinished: %d, elapsed: %.1f s%n",
+                targetRatePerSecond, achievedRatePerSecond, requestsSent, requestsUnfinished, elapsedSeconds);
+        out.printf("%-18s %6s %8s %9s %9s %9s %9s %9s %9s%n", "operation", "status", "count", "mean", "p50", "p90", "p99", "p99.9", "max");
+        for (OperationStats stats : operations) {
+            out.printf("%-18s %6s %8d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", stats.operation, stats.status, stats.count,
+                    stats.meanMs, stats.p50Ms, stats.p90Ms, stats.p99Ms, stats.p999Ms, stats.maxMs);
+        }
+    }
+
+    public void writeJson(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        JsonCodec.getDefault().getMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+    }
+}
@@ -0,0 +1,31 @@
+package load;
+
+import configs.ConfigLoader;
+import core.http.RestClient;
+import core.http.RestClients;
+import services.AuthorsService;
+import services.BooksService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Command line entry point for a load run configured through the {@code load.*} properties.
+ */
+public class LoadRunner {
+
+    public static void main(String[] args) throws IOException {
+        LoadProfile profile = LoadProfile.fromConfig();
+        RestClient client = RestClients.shared();
+        LoadGenerator generator = new LoadGenerator(new BooksService(client), new AuthorsService(client), profile);
+
+        LoadReport report = generator.run(Duration.ofSeconds(Long.parseLong(ConfigLoader.getProperty("load.drain.seconds"))));
+        report.print(System.out);
+        Path reportFile = Path.of(ConfigLoader.getProperty("load.report"));
+        report.writeJson(reportFile);
+        System.out.println("Report written to " + reportFile.toAbsolutePath());
+
+        RestClients.shutdown();
+    }
+}
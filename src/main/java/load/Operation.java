@@ -0,0 +1,98 @@
+package load;
+
+import core.http.Response;
+import model.AuthorsModel;
+import model.BookModel;
+import services.AuthorsService;
+import services.BooksService;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Operations the load generator can mix. Ids are drawn from the ranges the public host is seeded with.
+ */
+public enum Operation {
+
+    BOOKS_GET_ALL {
+        @Override
+        CompletableFuture<? extends Response<?>> invoke(BooksService books, AuthorsService authors, ThreadLocalRandom random) {
+            return books.getAllAsync();
+        }
+    },
+    BOOKS_GET_BY_ID {
+        @Override
+        CompletableFuture<? extends Response<?>> invoke(BooksService books, AuthorsService authors, ThreadLocalRandom random) {
+            return books.getByIDAsync(bookId(random));
+        }
+    },
+    BOOKS_CREATE {
+        @Override
+        CompletableFuture<? extends Response<?>> invoke(BooksService books, AuthorsService authors, ThreadLocalRandom random) {
+            return books.createAsync(book(bookId(random)));
+        }
+    },
+    BOOKS_UPDATE {
+        @Override
+        CompletableFuture<? extends Response<?>> invoke(BooksService books, AuthorsService authors, ThreadLocalRandom random) {
+            int id = bookId(random);
+            return books.updateAsync(book(id), id);
+        }
+    },
+    BOOKS_DELETE {
+        @Override
+        CompletableFuture<? extends Response<?>> invoke(BooksService books, AuthorsService authors, ThreadLocalRandom random) {
+            return books.deleteAsync(bookId(random));
+        }
+    },
+    AUTHORS_GET_ALL {
+        @Override
+        CompletableFuture<? extends Response<?>> invoke(BooksService books, AuthorsService authors, ThreadLocalRandom random) {
+            return authors.getAllAsync();
+        }
+    },
+    AUTHORS_GET_BY_ID {
+        @Override
+        CompletableFuture<? extends Response<?>> invoke(BooksService books, AuthorsService authors, ThreadLocalRandom random) {
+            return authors.getByIDAsync(authorId(random));
+        }
+    },
+    AUTHORS_CREATE {
+        @Override
+        CompletableFuture<? extends Response<?>> invoke(BooksService books, AuthorsService authors, ThreadLocalRandom random) {
+            return authors.createAsync(author(authorId(random), bookId(random)));
+        }
+    },
+    AUTHORS_UPDATE {
+        @Override
+        CompletableFuture<? extends Response<?>> invoke(BooksService books, AuthorsService authors, ThreadLocalRandom random) {
+            int id = authorId(random);
+            return authors.updateAsync(author(id, bookId(random)), id);
+        }
+    },
+    AUTHORS_DELETE {
+        @Override
+        CompletableFuture<? extends Response<?>> invoke(BooksService books, AuthorsService authors, ThreadLocalRandom random) {
+            return authors.deleteAsync(authorId(random));
+        }
+    };
+
+    abstract CompletableFuture<? extends Response<?>> invoke(BooksService books, AuthorsService authors, ThreadLocalRandom random);
+
+    private static int bookId(ThreadLocalRandom random) {
+        return random.nextInt(1, 201);
+    }
+
+    private static int authorId(ThreadLocalRandom random) {
+        return random.nextInt(1, 601);
+    }
+
+    private static BookModel book(int id) {
+        return new BookModel(id, "Load Book " + id, "Load test book", 100 + id, "Load test excerpt", Instant.now().toString());
+    }
+
+    private static AuthorsModel author(int id, int idBook) {
+        return new AuthorsModel(id, idBook, "Load First " + id, "Load Last " + id);
+    }
+}
@@ -3,18 +3,38 @@ package services;
 import com.fasterxml.jackson.core.type.TypeReference;
 import core.http.Response;
 import core.http.RestClient;
+import core.http.batch.BatchResult;
+import core.http.batch.BatchRunner;
 import io.qameta.allure.Step;
 import model.AuthorsModel;
 import model.ErrorModel;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+/**
+ * Authors endpoints. Blocking calls are reported as Allure steps; {@code *Async} calls are not.
+ */
 public class AuthorsService {
+    private static final TypeReference<List<AuthorsModel>> LIST_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<AuthorsModel> ITEM_TYPE = new TypeReference<>() {
+    };
+
     private final RestClient rest;
+    private final BatchRunner batch;
 
     public AuthorsService(RestClient rest) {
+        this(rest, BatchRunner.fromConfig());
+    }
+
+    public AuthorsService(RestClient rest, BatchRunner batch) {
         this.rest = rest;
+        this.batch = batch;
     }
 
     @Step("Create Author")
@@ -35,19 +55,81 @@ public class AuthorsService {
 
     @Step("Get all authors")
     public Response<List<AuthorsModel>> getAll() throws IOException, InterruptedException {
-        return rest.get("/api/v1/Authors", new TypeReference<List<AuthorsModel>>() {
-        });
+        return rest.get("/api/v1/Authors", LIST_TYPE);
     }
 
     @Step("Get author by ID")
     public Response<AuthorsModel> getByID(int id) throws IOException, InterruptedException {
-        return rest.getByID("/api/v1/Authors", id, new TypeReference<AuthorsModel>() {
-        });
+        return rest.getByID("/api/v1/Authors", id, ITEM_TYPE);
     }
 
     @Step("Get Author with error")
     public Response<ErrorModel> getErrorByID(int id) throws IOException, InterruptedException {
         return rest.getErrorByID("/api/v1/Authors", id, ErrorModel.class);
     }
-}
 
+    public CompletableFuture<Response<AuthorsModel>> createAsync(AuthorsModel author) {
+        return rest.postAsync("/api/v1/Authors", author, AuthorsModel.class);
+    }
+
+    public CompletableFuture<Response<AuthorsModel>> updateAsync(AuthorsModel author, int id) {
+        return rest.putAsync("/api/v1/Authors", id, author, AuthorsModel.class);
+    }
+
+    public CompletableFuture<Response<AuthorsModel>> deleteAsync(int id) {
+        return rest.deleteAsync("/api/v1/Authors", id, AuthorsModel.class);
+    }
+
+    @Step("Stream all authors")
+    public Response<Stream<AuthorsModel>> streamAll() throws IOException, InterruptedException {
+        return rest.stream("/api/v1/Authors", AuthorsModel.class);
+    }
+
+    @Step("Process all authors one by one")
+    public Response<Long> forEach(Consumer<? super AuthorsModel> action) throws IOException, InterruptedException {
+        return rest.forEach("/api/v1/Authors", AuthorsModel.class, action);
+    }
+
+    public CompletableFuture<Response<List<AuthorsModel>>> getAllAsync() {
+        return rest.getAsync("/api/v1/Authors", LIST_TYPE);
+    }
+
+    public CompletableFuture<Response<AuthorsModel>> getByIDAsync(int id) {
+        return rest.getByIDAsync("/api/v1/Authors", id, ITEM_TYPE);
+    }
+
+    public CompletableFuture<Response<ErrorModel>> getErrorByIDAsync(int id) {
+        return rest.getErrorByIDAsync("/api/v1/Authors", id, ErrorModel.class);
+    }
+
+    public CompletableFuture<Response<Stream<AuthorsModel>>> streamAllAsync() {
+        return rest.streamAsync("/api/v1/Authors", AuthorsModel.class);
+    }
+
+    @Step("Create Authors in bulk")
+    public BatchResult<AuthorsModel, AuthorsModel> createAll(Stream<AuthorsModel> authors) throws InterruptedException {
+        return batch.run(authors, author -> rest.postAsync("/api/v1/Authors", author, AuthorsModel.class));
+    }
+
+    public BatchResult<AuthorsModel, AuthorsModel> createAll(Collection<AuthorsModel> authors) throws InterruptedException {
+        return createAll(authors.stream());
+    }
+
+    @Step("Update Authors in bulk")
+    public BatchResult<AuthorsModel, AuthorsModel> updateAll(Stream<AuthorsModel> authors) throws InterruptedException {
+        return batch.run(authors, author -> rest.putAsync("/api/v1/Authors", author.id, author, AuthorsModel.class));
+    }
+
+    public BatchResult<AuthorsModel, AuthorsModel> updateAll(Collection<AuthorsModel> authors) throws InterruptedException {
+        return updateAll(authors.stream());
+    }
+
+    @Step("Delete Authors in bulk")
+    public BatchResult<Integer, AuthorsModel> deleteAll(Stream<Integer> ids) throws InterruptedException {
+        return batch.run(ids, id -> rest.deleteAsync("/api/v1/Authors", id, AuthorsModel.class));
+    }
+
+    public BatchResult<Integer, AuthorsModel> deleteAll(Collection<Integer> ids) throws InterruptedException {
+        return deleteAll(ids.stream());
+    }
+}
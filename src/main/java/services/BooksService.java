@@ -3,19 +3,39 @@ package services;
 import com.fasterxml.jackson.core.type.TypeReference;
 import core.http.Response;
 import core.http.RestClient;
+import core.http.batch.BatchResult;
+import core.http.batch.BatchRunner;
 import io.qameta.allure.Step;
 import model.BookModel;
 import model.ErrorModel;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+/**
+ * Books endpoints. Blocking calls are reported as Allure steps; {@code *Async} calls are not.
+ */
 public class BooksService {
 
+    private static final TypeReference<List<BookModel>> LIST_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<BookModel> ITEM_TYPE = new TypeReference<>() {
+    };
+
     private final RestClient rest;
+    private final BatchRunner batch;
 
     public BooksService(RestClient rest) {
+        this(rest, BatchRunner.fromConfig());
+    }
+
+    public BooksService(RestClient rest, BatchRunner batch) {
         this.rest = rest;
+        this.batch = batch;
     }
 
     @Step("Create Book")
@@ -36,18 +56,81 @@ public class BooksService {
 
     @Step("Get all Books")
     public Response<List<BookModel>> getAll() throws IOException, InterruptedException {
-        return rest.get("/api/v1/Books", new TypeReference<List<BookModel>>() {
-        });
+        return rest.get("/api/v1/Books", LIST_TYPE);
     }
 
     @Step("Get All Books by ID")
     public Response<BookModel> getByID(int id) throws IOException, InterruptedException {
-        return rest.getByID("/api/v1/Books", id, new TypeReference<BookModel>() {
-        });
+        return rest.getByID("/api/v1/Books", id, ITEM_TYPE);
     }
 
     @Step("Get Book with error")
     public Response<ErrorModel> getErrorByID(int id) throws IOException, InterruptedException {
         return rest.getErrorByID("/api/v1/Books", id, ErrorModel.class);
     }
+
+    public CompletableFuture<Response<BookModel>> createAsync(BookModel book) {
+        return rest.postAsync("/api/v1/Books", book, BookModel.class);
+    }
+
+    public CompletableFuture<Response<BookModel>> updateAsync(BookModel book, int id) {
+        return rest.putAsync("/api/v1/Books", id, book, BookModel.class);
+    }
+
+    public CompletableFuture<Response<BookModel>> deleteAsync(int id) {
+        return rest.deleteAsync("/api/v1/Books", id, BookModel.class);
+    }
+
+    @Step("Stream all Books")
+    public Response<Stream<BookModel>> streamAll() throws IOException, InterruptedException {
+        return rest.stream("/api/v1/Books", BookModel.class);
+    }
+
+    @Step("Process all Books one by one")
+    public Response<Long> forEach(Consumer<? super BookModel> action) throws IOException, InterruptedException {
+        return rest.forEach("/api/v1/Books", BookModel.class, action);
+    }
+
+    public CompletableFuture<Response<List<BookModel>>> getAllAsync() {
+        return rest.getAsync("/api/v1/Books", LIST_TYPE);
+    }
+
+    public CompletableFuture<Response<BookModel>> getByIDAsync(int id) {
+        return rest.getByIDAsync("/api/v1/Books", id, ITEM_TYPE);
+    }
+
+    public CompletableFuture<Response<ErrorModel>> getErrorByIDAsync(int id) {
+        return rest.getErrorByIDAsync("/api/v1/Books", id, ErrorModel.class);
+    }
+
+    public CompletableFuture<Response<Stream<BookModel>>> streamAllAsync() {
+        return rest.streamAsync("/api/v1/Books", BookModel.class);
+    }
+
+    @Step("Create Books in bulk")
+    public BatchResult<BookModel, BookModel> createAll(Stream<BookModel> books) throws InterruptedException {
+        return batch.run(books, book -> rest.postAsync("/api/v1/Books", book, BookModel.class));
+    }
+
+    public BatchResult<BookModel, BookModel> createAll(Collection<BookModel> books) throws InterruptedException {
+        return createAll(books.stream());
+    }
+
+    @Step("Update Books in bulk")
+    public BatchResult<BookModel, BookModel> updateAll(Stream<BookModel> books) throws InterruptedException {
+        return batch.run(books, book -> rest.putAsync("/api/v1/Books", book.id, book, BookModel.class));
+    }
+
+    public BatchResult<BookModel, BookModel> updateAll(Collection<BookModel> books) throws InterruptedException {
+        return updateAll(books.stream());
+    }
+
+    @Step("Delete Books in bulk")
+    public BatchResult<Integer, BookModel> deleteAll(Stream<Integer> ids) throws InterruptedException {
+        return batch.run(ids, id -> rest.deleteAsync("/api/v1/Books", id, BookModel.class));
+    }
+
+    public BatchResult<Integer, BookModel> deleteAll(Collection<Integer> ids) throws InterruptedException {
+        return deleteAll(ids.stream());
+    }
 }
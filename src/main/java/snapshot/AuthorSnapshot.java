@@ -0,0 +1,162 @@
+package snapshot;
+
+import core.http.Response;
+import model.AuthorsModel;
+import services.AuthorsService;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Immutable, column-wise copy of a set of authors: {@code int[]} ids and book references, and names shared across
+ * rows. Rows are sorted by id; see {@link BookSnapshot}.
+ */
+public final class AuthorSnapshot implements Iterable<AuthorsModel> {
+
+    private final int[] ids;
+    private final int[] bookIds;
+    private final String[] firstNames;
+    private final String[] lastNames;
+    private final int distinctStrings;
+
+    private AuthorSnapshot(int[] ids, int[] bookIds, String[] firstNames, String[] lastNames, int distinctStrings) {
+        this.ids = ids;
+        this.bookIds = bookIds;
+        this.firstNames = firstNames;
+        this.lastNames = lastNames;
+        this.distinctStrings = distinctStrings;
+    }
+
+    /**
+     * Streams {@code GET /api/v1/Authors} straight into a snapshot without holding the parsed list.
+     */
+    public static AuthorSnapshot fetch(AuthorsService authors) throws IOException, InterruptedException {
+        Response<Stream<AuthorsModel>> response = authors.streamAll();
+        if (!response.isSuccessful()) {
+            throw new IOException("GET /api/v1/Authors returned " + response.getStatusCode());
+        }
+        try (Stream<AuthorsModel> elements = response.getBody()) {
+            return of(elements);
+        }
+    }
+
+    public static AuthorSnapshot of(Stream<AuthorsModel> authors) {
+        Builder builder = new Builder();
+        authors.forEachOrdered(builder::add);
+        return builder.build();
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Row of {@code id}, or -1 when absent.
+     */
+    public int indexOf(int id) {
+        return Columns.indexOf(ids, id);
+    }
+
+    public boolean contains(int id) {
+        return indexOf(id) >= 0;
+    }
+
+    /**
+     * A copy of the author with {@code id}, or {@code null} when absent.
+     */
+    public AuthorsModel get(int id) {
+        int index = indexOf(id);
+        return index < 0 ? null : toModel(index);
+    }
+
+    public int id(int index) {
+        return ids[index];
+    }
+
+    public int idBook(int index) {
+        return bookIds[index];
+    }
+
+    public String firstName(int index) {
+        return firstNames[index];
+    }
+
+    public String lastName(int index) {
+        return lastNames[index];
+    }
+
+    public AuthorsModel toModel(int index) {
+        return new AuthorsModel(ids[index], bookIds[index], firstNames[index], lastNames[index]);
+    }
+
+    public IntStream ids() {
+        return Arrays.stream(ids);
+    }
+
+    public Stream<AuthorsModel> stream() {
+        return IntStream.range(0, ids.length).mapToObj(this::toModel);
+    }
+
+    @Override
+    public Iterator<AuthorsModel> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < ids.length;
+            }
+
+            @Override
+            public AuthorsModel next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return toModel(next++);
+            }
+        };
+    }
+
+    /**
+     * Number of distinct strings the rows share.
+     */
+    public int getDistinctStrings() {
+        return distinctStrings;
+    }
+
+    private static final class Builder {
+
+        private final Columns.StringPool strings = new Columns.StringPool();
+        private int[] ids = new int[256];
+        private int[] bookIds = new int[256];
+        private String[] firstNames = new String[256];
+        private String[] lastNames = new String[256];
+        private int size;
+
+        void add(AuthorsModel author) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                bookIds = Arrays.copyOf(bookIds, capacity);
+                firstNames = Arrays.copyOf(firstNames, capacity);
+                lastNames = Arrays.copyOf(lastNames, capacity);
+            }
+            ids[size] = author.id;
+            bookIds[size] = author.idBook;
+            firstNames[size] = strings.of(author.firstName);
+            lastNames[size] = strings.of(author.lastName);
+            size++;
+        }
+
+        AuthorSnapshot build() {
+            int[] order = Columns.sortOrder(ids, size);
+            return new AuthorSnapshot(Columns.permute(ids, size, order), Columns.permute(bookIds, size, order),
+                    Columns.permute(firstNames, size, order), Columns.permute(lastNames, size, order),
+                    strings.distinct());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package snapshot;
+
+import core.http.Response;
+import model.BookModel;
+import services.BooksService;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Immutable, column-wise copy of a set of books.
+ * <p>
+ * Ids and page counts are {@code int[]} columns, {@code publishDate} is epoch millis in a {@code long[]}, and
+ * equal strings share one instance across all rows. Rows are sorted by id, so lookup is a binary search. Models
+ * handed out by {@link #get(int)} and the iterator are fresh copies; changing them does not change the snapshot.
+ */
+public final class BookSnapshot implements Iterable<BookModel> {
+
+    private final int[] ids;
+    private final int[] pageCounts;
+    private final long[] publishDates;
+    private final String[] titles;
+    private final String[] descriptions;
+    private final String[] excerpts;
+    private final int distinctStrings;
+
+    private BookSnapshot(int[] ids, int[] pageCounts, long[] publishDates, String[] titles, String[] descriptions,
+                         String[] excerpts, int distinctStrings) {
+        this.ids = ids;
+        this.pageCounts = pageCounts;
+        this.publishDates = publishDates;
+        this.titles = titles;
+        this.descriptions = descriptions;
+        this.excerpts = excerpts;
+        this.distinctStrings = distinctStrings;
+    }
+
+    /**
+     * Streams {@code GET /api/v1/Books} straight into a snapshot without holding the parsed list.
+     */
+    public static BookSnapshot fetch(BooksService books) throws IOException, InterruptedException {
+        Response<Stream<BookModel>> response = books.streamAll();
+        if (!response.isSuccessful()) {
+            throw new IOException("GET /api/v1/Books returned " + response.getStatusCode());
+        }
+        try (Stream<BookModel> elements = response.getBody()) {
+            return of(elements);
+        }
+    }
+
+    public static BookSnapshot of(Stream<BookModel> books) {
+        Builder builder = new Builder();
+        books.forEachOrdered(builder::add);
+        return builder.build();
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Row of {@code id}, or -1 when absent.
+     */
+    public int indexOf(int id) {
+        return Columns.indexOf(ids, id);
+    }
+
+    public boolean contains(int id) {
+        return indexOf(id) >= 0;
+    }
+
+    /**
+     * A copy of the book with {@code id}, or {@code null} when absent.
+     */
+    public BookModel get(int id) {
+        int index = indexOf(id);
+        return index < 0 ? null : toModel(index);
+    }
+
+    public int id(int index) {
+        return ids[index];
+    }
+
+    public String title(int index) {
+        return titles[index];
+    }
+
+    public String description(int index) {
+        return descriptions[index];
+    }
+
+    public int pageCount(int index) {
+        return pageCounts[index];
+    }
+
+    public String excerpt(int index) {
+        return excerpts[index];
+    }
+
+    /**
+     * Publish date in epoch millis, or {@link Long#MIN_VALUE} when the book had none (or not an ISO-8601 one).
+     */
+    public long publishDateMillis(int index) {
+        return publishDates[index];
+    }
+
+    public BookModel toModel(int index) {
+        return new BookModel(ids[index], titles[index], descriptions[index], pageCounts[index], excerpts[index],
+                Columns.isoDate(publishDates[index]));
+    }
+
+    public IntStream ids() {
+        return Arrays.stream(ids);
+    }
+
+    public Stream<BookModel> stream() {
+        return IntStream.range(0, ids.length).mapToObj(this::toModel);
+    }
+
+    @Override
+    public Iterator<BookModel> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < ids.length;
+            }
+
+            @Override
+            public BookModel next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return toModel(next++);
+            }
+        };
+    }
+
+    /**
+     * Number of distinct strings the rows share.
+     */
+    public int getDistinctStrings() {
+        return distinctStrings;
+    }
+
+    private static final class Builder {
+
+        private final Columns.StringPool strings = new Columns.StringPool();
+        private int[] ids = new int[256];
+        private int[] pageCounts = new int[256];
+        private long[] publishDates = new long[256];
+        private String[] titles = new String[256];
+        private String[] descriptions = new String[256];
+        private String[] excerpts = new String[256];
+        private int size;
+
+        void add(BookModel book) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                pageCounts = Arrays.copyOf(pageCounts, capacity);
+                publishDates = Arrays.copyOf(publishDates, capacity);
+                titles = Arrays.copyOf(titles, capacity);
+                descriptions = Arrays.copyOf(descriptions, capacity);
+                excerpts = Arrays.copyOf(excerpts, capacity);
+            }
+            ids[size] = book.id;
+            pageCounts[size] = book.pageCount;
+            publishDates[size] = Columns.epochMillis(book.publishDate);
+            titles[size] = strings.of(book.title);
+            descriptions[size] = strings.of(book.description);
+            excerpts[size] = strings.of(book.excerpt);
+            size++;
+        }
+
+        BookSnapshot build() {
+            int[] order = Columns.sortOrder(ids, size);
+            return new BookSnapshot(Columns.permute(ids, size, order), Columns.permute(pageCounts, size, order),
+                    Columns.permute(publishDates, size, order), Columns.permute(titles, size, order),
+                    Columns.permute(descriptions, size, order), Columns.permute(excerpts, size, order),
+                    strings.distinct());
+        }
+    }
+}
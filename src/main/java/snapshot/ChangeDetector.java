@@ -0,0 +1,206 @@
+package snapshot;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import core.collections.IntArrayList;
+import core.collections.IntLongHashMap;
+import core.http.JsonCodec;
+import core.http.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Finds added, changed and removed entities between successive polls of a collection endpoint.
+ * <p>
+ * Only a 64-bit content hash per id is kept from the previous poll. Each new response is read once, token by token:
+ * every element's tokens are hashed straight from the parser's character buffer, so no model, tree or field
+ * {@code String} is created, and the hash is compared with the previous one for the element's {@code id}.
+ * A cycle is O(n) in the response size, and memory is two primitive maps of about 24 bytes per entity.
+ * <p>
+ * Field order is part of the hash, so a server that reorders fields reports the entity as changed.
+ * Listeners are only called once a response has been read completely; a malformed or truncated one fires nothing
+ * and leaves the previous poll in place.
+ */
+public class ChangeDetector {
+
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final long MISSING = 0;
+
+    private final String source;
+    private final JsonFactory factory;
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private IntLongHashMap previous;
+
+    /**
+     * @param source name reported in change events, e.g. {@code /api/v1/Books}
+     */
+    public ChangeDetector(String source) {
+        this(source, JsonCodec.getDefault().getMapper().getFactory());
+    }
+
+    public ChangeDetector(String source, JsonFactory factory) {
+        this.source = source;
+        this.factory = factory;
+    }
+
+    public void addListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Compares the raw body of a collection response, e.g. {@code books.getAll()}, without decoding it.
+     *
+     * @throws IllegalArgumentException for a response without a raw body, such as a streamed one
+     */
+    public ChangeSet update(Response<?> response) throws IOException {
+        if (!response.isSuccessful()) {
+            throw new IOException(source + " returned " + response.getStatusCode());
+        }
+        byte[] body = response.getRawBody();
+        if (body == null) {
+            throw new IllegalArgumentException("Response from " + source + " has no raw body to compare");
+        }
+        return update(new ByteArrayInputStream(body));
+    }
+
+    public synchronized ChangeSet update(InputStream json) throws IOException {
+        long start = System.nanoTime();
+        boolean baseline = previous == null;
+        IntLongHashMap last = baseline ? new IntLongHashMap(16, MISSING) : previous;
+        IntLongHashMap next = new IntLongHashMap(Math.max(16, last.size()), MISSING);
+        IntArrayList added = new IntArrayList();
+        IntArrayList changed = new IntArrayList();
+        IntArrayList removed = new IntArrayList();
+        // ids of added and changed elements in document order, replayed to listeners once the poll is committed
+        IntArrayList modified = new IntArrayList();
+        long unchanged = 0;
+        long duplicates = 0;
+        long withoutId = 0;
+
+        try (JsonParser parser = factory.createParser(json)) {
+            JsonToken first = parser.nextToken();
+            if (first != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array from " + source + " but got " + first);
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                Element element = hashElement(parser);
+                if (!element.hasId) {
+                    withoutId++;
+                    continue;
+                }
+                // the first occurrence of an id is the one compared; later ones are only counted
+                if (next.putIfAbsent(element.id, element.hash) != MISSING) {
+                    duplicates++;
+                    continue;
+                }
+                long old = last.get(element.id);
+                if (old == MISSING) {
+                    added.add(element.id);
+                    modified.add(element.id);
+                } else if (old != element.hash) {
+                    changed.add(element.id);
+                    modified.add(element.id);
+                } else {
+                    unchanged++;
+                }
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new IOException("Expected JSON objects in the array from " + source + " but got " + token);
+            }
+        }
+
+        last.forEach((id, hash) -> {
+            if (!next.containsKey(id)) {
+                removed.add(id);
+            }
+        });
+        previous = next;
+
+        for (int i = 0; i < modified.size(); i++) {
+            int id = modified.get(i);
+            long old = last.get(id);
+            fire(old == MISSING ? ChangeEvent.Kind.ADDED : ChangeEvent.Kind.CHANGED, id, old, next.get(id));
+        }
+        for (int i = 0; i < removed.size(); i++) {
+            int id = removed.get(i);
+            fire(ChangeEvent.Kind.REMOVED, id, last.get(id), MISSING);
+        }
+        return new ChangeSet(baseline, added.toArray(), changed.toArray(), removed.toArray(), unchanged, duplicates,
+                withoutId, System.nanoTime() - start);
+    }
+
+    /**
+     * Number of entities tracked from the last poll.
+     */
+    public synchronized int size() {
+        return previous == null ? 0 : previous.size();
+    }
+
+    /**
+     * Forgets the previous poll; the next one becomes a new baseline.
+     */
+    public synchronized void reset() {
+        previous = null;
+    }
+
+    private void fire(ChangeEvent.Kind kind, int id, long oldHash, long newHash) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        ChangeEvent event = new ChangeEvent(source, kind, id, oldHash, newHash);
+        for (ChangeListener listener : listeners) {
+            listener.onChange(event);
+        }
+    }
+
+    /**
+     * Hashes the tokens of the object the parser is positioned on, leaving it on the object's closing token.
+     */
+    private static Element hashElement(JsonParser parser) throws IOException {
+        Element element = new Element();
+        long hash = FNV_OFFSET;
+        int depth = 1;
+        boolean idValue = false;
+        while (depth > 0) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new IOException("Unexpected end of input inside an array element");
+            }
+            hash = (hash ^ token.ordinal()) * FNV_PRIME;
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            } else {
+                if (idValue && token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() == JsonParser.NumberType.INT) {
+                    element.id = parser.getIntValue();
+                    element.hasId = true;
+                }
+                idValue = token == JsonToken.FIELD_NAME && depth == 1 && "id".equals(parser.currentName());
+                char[] text = parser.getTextCharacters();
+                for (int i = parser.getTextOffset(), end = i + parser.getTextLength(); i < end; i++) {
+                    hash = (hash ^ text[i]) * FNV_PRIME;
+                }
+            }
+        }
+        element.hash = hash == MISSING ? 1 : hash;
+        return element;
+    }
+
+    private static final class Element {
+        private int id;
+        private boolean hasId;
+        private long hash;
+    }
+}
@@ -0,0 +1,51 @@
+package snapshot;
+
+/**
+ * One entity that differs between two polls. Hashes are the content hashes of the entity's JSON; {@code oldHash}
+ * is 0 for added entities and {@code newHash} is 0 for removed ones.
+ */
+public class ChangeEvent {
+
+    public enum Kind {
+        ADDED, CHANGED, REMOVED
+    }
+
+    private final String source;
+    private final Kind kind;
+    private final int id;
+    private final long oldHash;
+    private final long newHash;
+
+    public ChangeEvent(String source, Kind kind, int id, long oldHash, long newHash) {
+        this.source = source;
+        this.kind = kind;
+        this.id = id;
+        this.oldHash = oldHash;
+        this.newHash = newHash;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public long getOldHash() {
+        return oldHash;
+    }
+
+    public long getNewHash() {
+        return newHash;
+    }
+
+    @Override
+    public String toString() {
+        return source + " " + kind + " id=" + id;
+    }
+}
@@ -0,0 +1,11 @@
+package snapshot;
+
+/**
+ * Receives the changes {@link ChangeDetector} finds, on the thread that runs the poll. Added and changed
+ * entities are reported as they are read; removed ones once the response has been fully read.
+ */
+@FunctionalInterface
+public interface ChangeListener {
+
+    void onChange(ChangeEvent event);
+}
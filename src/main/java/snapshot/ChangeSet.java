@@ -0,0 +1,77 @@
+package snapshot;
+
+/**
+ * Summary of one {@link ChangeDetector} poll. On the first poll every entity is reported as added and
+ * {@link #isBaseline()} is true.
+ */
+public class ChangeSet {
+
+    private final boolean baseline;
+    private final int[] added;
+    private final int[] changed;
+    private final int[] removed;
+    private final long unchanged;
+    private final long duplicateIds;
+    private final long withoutId;
+    private final long elapsedNanos;
+
+    ChangeSet(boolean baseline, int[] added, int[] changed, int[] removed, long unchanged, long duplicateIds,
+              long withoutId, long elapsedNanos) {
+        this.baseline = baseline;
+        this.added = added;
+        this.changed = changed;
+        this.removed = removed;
+        this.unchanged = unchanged;
+        this.duplicateIds = duplicateIds;
+        this.withoutId = withoutId;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public boolean isBaseline() {
+        return baseline;
+    }
+
+    public boolean hasChanges() {
+        return added.length + changed.length + removed.length > 0;
+    }
+
+    public int[] getAdded() {
+        return added.clone();
+    }
+
+    public int[] getChanged() {
+        return changed.clone();
+    }
+
+    public int[] getRemoved() {
+        return removed.clone();
+    }
+
+    public long getUnchanged() {
+        return unchanged;
+    }
+
+    /**
+     * Elements whose id already appeared earlier in the same response; only the first one is tracked.
+     */
+    public long getDuplicateIds() {
+        return duplicateIds;
+    }
+
+    /**
+     * Elements without an {@code id} field in the {@code int} range; they cannot be tracked and are skipped.
+     */
+    public long getWithoutId() {
+        return withoutId;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return (baseline ? "baseline: " : "") + added.length + " added, " + changed.length + " changed, "
+                + removed.length + " removed, " + unchanged + " unchanged";
+    }
+}
@@ -0,0 +1,135 @@
+package snapshot;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Build-time helpers shared by the snapshot stores: string de-duplication, date packing and ordering rows by id.
+ */
+final class Columns {
+
+    /**
+     * Stored for a missing or unparseable {@code publishDate}.
+     */
+    static final long NO_DATE = Long.MIN_VALUE;
+
+    private Columns() {
+    }
+
+    /**
+     * Hands out one canonical instance per distinct string, so repeated values share storage. Unlike
+     * {@link String#intern()} the table is dropped with the builder.
+     */
+    static final class StringPool {
+
+        private final Map<String, String> canonical = new HashMap<>();
+
+        String of(String value) {
+            if (value == null) {
+                return null;
+            }
+            String existing = canonical.putIfAbsent(value, value);
+            return existing == null ? value : existing;
+        }
+
+        int distinct() {
+            return canonical.size();
+        }
+    }
+
+    static long epochMillis(String date) {
+        if (date == null || date.isEmpty()) {
+            return NO_DATE;
+        }
+        try {
+            return OffsetDateTime.parse(date).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            try {
+                // the public host sends local timestamps without an offset; they are UTC
+                return LocalDateTime.parse(date).toInstant(ZoneOffset.UTC).toEpochMilli();
+            } catch (DateTimeParseException ignored) {
+                return NO_DATE;
+            }
+        }
+    }
+
+    static String isoDate(long epochMillis) {
+        return epochMillis == NO_DATE ? null : Instant.ofEpochMilli(epochMillis).toString();
+    }
+
+    /**
+     * Row order that sorts {@code ids} ascending (stable for equal ids), or {@code null} if they already are.
+     */
+    static int[] sortOrder(int[] ids, int size) {
+        boolean sorted = true;
+        for (int i = 1; i < size && sorted; i++) {
+            sorted = ids[i - 1] <= ids[i];
+        }
+        if (sorted) {
+            return null;
+        }
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (long) ids[i] << 32 | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    static int[] permute(int[] values, int size, int[] order) {
+        if (order == null) {
+            return Arrays.copyOf(values, size);
+        }
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    static long[] permute(long[] values, int size, int[] order) {
+        if (order == null) {
+            return Arrays.copyOf(values, size);
+        }
+        long[] result = new long[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    static String[] permute(String[] values, int size, int[] order) {
+        if (order == null) {
+            return Arrays.copyOf(values, size);
+        }
+        String[] result = new String[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * First row holding {@code id} in ascending {@code ids}, or -1.
+     */
+    static int indexOf(int[] ids, int id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return -1;
+        }
+        while (index > 0 && ids[index - 1] == id) {
+            index--;
+        }
+        return index;
+    }
+}
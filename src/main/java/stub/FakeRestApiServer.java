@@ -0,0 +1,327 @@
+package stub;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import configs.ConfigLoader;
+import core.http.ClientExecutors;
+import core.http.JsonCodec;
+import model.AuthorsModel;
+import model.BookModel;
+import model.ErrorModel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-process stand-in for FakeRestAPI serving {@code /api/v1/Books} and {@code /api/v1/Authors}.
+ * <p>
+ * It is seeded like the public host (200 books, about 600 authors) held in concurrent in-memory maps and answers
+ * with the same status codes and {@link ErrorModel} bodies. GET responses carry a content-hash {@code ETag}
+ * and honour {@code If-None-Match}; bodies over 1 KB are gzipped for clients that accept it, and gzipped
+ * request bodies are accepted. Like the public host, writes are echoed back but not
+ * stored unless {@code stub.persist=true}. Set {@code api.stub=true} to point {@link core.http.RestClients#shared()}
+ * at it instead of the remote host.
+ */
+public class FakeRestApiServer implements AutoCloseable {
+
+    public static final String BOOKS_PATH = "/api/v1/Books";
+    public static final String AUTHORS_PATH = "/api/v1/Authors";
+
+    private static final String BAD_REQUEST_TYPE = "https://tools.ietf.org/html/rfc7231#section-6.5.1";
+    private static final String NOT_FOUND_TYPE = "https://tools.ietf.org/html/rfc7231#section-6.5.4";
+
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    private static volatile FakeRestApiServer shared;
+
+    private final JsonCodec codec = JsonCodec.getDefault();
+    private final ObjectReader bookReader = codec.reader(BookModel.class).with(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES);
+    private final ObjectReader authorReader = codec.reader(AuthorsModel.class).with(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES);
+    private final ConcurrentNavigableMap<Integer, BookModel> books = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<Integer, AuthorsModel> authors = new ConcurrentSkipListMap<>();
+    private final boolean persistWrites;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private final LongAdder requestsServed = new LongAdder();
+
+    public FakeRestApiServer(int port, boolean persistWrites) throws IOException {
+        this.persistWrites = persistWrites;
+        seed();
+        executor = ClientExecutors.virtual();
+        // without TCP_NODELAY small responses stall on Nagle + delayed ACK for ~40ms each; the JDK server reads
+        // the property once, when its first instance in the JVM is created
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(BOOKS_PATH, exchange -> handle(exchange, this::handleBooks));
+        server.createContext(AUTHORS_PATH, exchange -> handle(exchange, this::handleAuthors));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static FakeRestApiServer shared() {
+        FakeRestApiServer server = shared;
+        if (server == null) {
+            synchronized (FakeRestApiServer.class) {
+                server = shared;
+                if (server == null) {
+                    try {
+                        server = new FakeRestApiServer(0, Boolean.parseBoolean(ConfigLoader.getProperty("stub.persist")));
+                    } catch (IOException e) {
+                        throw new RuntimeException("Failed to start FakeRestAPI stub", e);
+                    }
+                    shared = server;
+                }
+            }
+        }
+        return server;
+    }
+
+    /**
+     * The shared stub if it has been started, without starting it.
+     */
+    public static FakeRestApiServer sharedIfRunning() {
+        return shared;
+    }
+
+    public static void shutdownShared() {
+        synchronized (FakeRestApiServer.class) {
+            if (shared != null) {
+                shared.close();
+                shared = null;
+            }
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Distinct client sockets seen so far. Each keep-alive connection has its own remote port, so this counts
+     * connections opened while {@link #getRequestsServed()} minus this counts requests served on reused ones.
+     */
+    public long getConnectionsOpened() {
+        return connections.size();
+    }
+
+    public long getRequestsServed() {
+        return requestsServed.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void seed() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        int authorId = 1;
+        for (int id = 1; id <= 200; id++) {
+            books.put(id, new BookModel(id, "Book " + id,
+                    "Lorem lorem lorem. Lorem lorem lorem. Lorem lorem lorem.\n",
+                    id * 100,
+                    "Lorem lorem lorem. Lorem lorem lorem. Lorem lorem lorem.\n".repeat(5),
+                    now.minus(id, ChronoUnit.DAYS).toString()));
+            for (int i = 0; i < 2 + id % 3; i++, authorId++) {
+                authors.put(authorId, new AuthorsModel(authorId, id, "First Name " + authorId, "Last Name " + authorId));
+            }
+        }
+    }
+
+    private interface Handler {
+        Reply handle(String method, String[] segments, InputStream body) throws IOException;
+    }
+
+    private record Reply(int status, Object body) {
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        try (exchange) {
+            requestsServed.increment();
+            connections.add(exchange.getRemoteAddress());
+            String path = exchange.getRequestURI().getPath();
+            String[] segments = path.substring(path.indexOf("/api/v1/") + "/api/v1/".length()).split("/");
+            Reply reply;
+            try {
+                InputStream requestBody = exchange.getRequestBody();
+                if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+                    requestBody = new GZIPInputStream(requestBody);
+                }
+                reply = handler.handle(exchange.getRequestMethod(), segments, requestBody);
+            } catch (IOException e) {
+                reply = error(400);
+            }
+            byte[] bytes = reply.body() == null ? new byte[0] : codec.write(reply.body());
+            if (reply.body() instanceof ErrorModel) {
+                exchange.getResponseHeaders().set("Content-Type", "application/problem+json; charset=utf-8");
+            } else if (reply.body() != null) {
+                exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8; v=1.0");
+            }
+            if (reply.status() == 200 && "GET".equals(exchange.getRequestMethod())) {
+                String etag = "\"" + Integer.toHexString(Arrays.hashCode(bytes)) + "\"";
+                exchange.getResponseHeaders().set("ETag", etag);
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+            }
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (bytes.length >= GZIP_MIN_BYTES && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                bytes = gzip(bytes);
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(reply.status(), bytes.length == 0 ? -1 : bytes.length);
+            if (bytes.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            }
+        }
+    }
+
+    private Reply handleBooks(String method, String[] segments, InputStream body) throws IOException {
+        if (segments.length == 1) {
+            switch (method) {
+                case "GET":
+                    return new Reply(200, books.values());
+                case "POST":
+                    BookModel book = bookReader.readValue(body);
+                    if (persistWrites) {
+                        books.put(book.id, book);
+                    }
+                    return new Reply(200, book);
+                default:
+                    return error(405);
+            }
+        }
+        if (segments.length != 2) {
+            return error(404);
+        }
+        Integer id = parseId(segments[1]);
+        if (id == null) {
+            return error(400);
+        }
+        switch (method) {
+            case "GET":
+                BookModel found = books.get(id);
+                return found == null ? error(404) : new Reply(200, found);
+            case "PUT":
+                BookModel book = bookReader.readValue(body);
+                if (persistWrites) {
+                    books.put(id, book);
+                }
+                return new Reply(200, book);
+            case "DELETE":
+                boolean exists = persistWrites ? books.remove(id) != null : books.containsKey(id);
+                return exists ? new Reply(200, null) : error(404);
+            default:
+                return error(405);
+        }
+    }
+
+    private Reply handleAuthors(String method, String[] segments, InputStream body) throws IOException {
+        if (segments.length == 1) {
+            switch (method) {
+                case "GET":
+                    return new Reply(200, authors.values());
+                case "POST":
+                    AuthorsModel author = authorReader.readValue(body);
+                    if (persistWrites) {
+                        authors.put(author.id, author);
+                    }
+                    return new Reply(200, author);
+                default:
+                    return error(405);
+            }
+        }
+        if (segments.length == 4 && segments[1].equals("authors") && segments[2].equals("books") && method.equals("GET")) {
+            Integer idBook = parseId(segments[3]);
+            if (idBook == null) {
+                return error(400);
+            }
+            return new Reply(200, authors.values().stream().filter(author -> author.idBook == idBook).toList());
+        }
+        if (segments.length != 2) {
+            return error(404);
+        }
+        Integer id = parseId(segments[1]);
+        if (id == null) {
+            return error(400);
+        }
+        switch (method) {
+            case "GET":
+                AuthorsModel found = authors.get(id);
+                return found == null ? error(404) : new Reply(200, found);
+            case "PUT":
+                AuthorsModel author = authorReader.readValue(body);
+                if (persistWrites) {
+                    authors.put(id, author);
+                }
+                return new Reply(200, author);
+            case "DELETE":
+                boolean exists = persistWrites ? authors.remove(id) != null : authors.containsKey(id);
+                return exists ? new Reply(200, null) : error(404);
+            default:
+                return error(405);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static Integer parseId(String segment) {
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Reply error(int status) {
+        String type = status == 400 ? BAD_REQUEST_TYPE : NOT_FOUND_TYPE;
+        String title;
+        switch (status) {
+            case 400:
+                title = "One or more validation errors occurred.";
+                break;
+            case 404:
+                title = "Not Found";
+                break;
+            default:
+                title = "Method Not Allowed";
+        }
+        return new Reply(status, new ErrorModel(type, title, status, traceId()));
+    }
+
+    private static String traceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format("00-%016x%016x-%016x-00", random.nextLong(), random.nextLong(), random.nextLong());
+    }
+}
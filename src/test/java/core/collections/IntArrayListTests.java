@@ -0,0 +1,51 @@
+package core.collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntArrayListTests {
+
+    @DisplayName("Values keep their insertion order as the list grows from zero capacity")
+    @Test
+    void growsInOrder() {
+        IntArrayList list = new IntArrayList(0);
+        for (int i = 0; i < 1_000; i++) {
+            list.add(i * 3);
+        }
+
+        assertEquals(1_000, list.size());
+        assertEquals(0, list.get(0));
+        assertEquals(2_997, list.get(999));
+        assertTrue(list.elements().length >= list.size());
+    }
+
+    @DisplayName("toArray copies exactly size elements")
+    @Test
+    void toArrayCopiesSizeElements() {
+        IntArrayList list = new IntArrayList(16);
+        list.add(1);
+        list.add(Integer.MIN_VALUE);
+
+        int[] copy = list.toArray();
+        copy[0] = 42;
+
+        assertArrayEquals(new int[]{42, Integer.MIN_VALUE}, copy);
+        assertEquals(1, list.get(0));
+        assertEquals(0, new IntArrayList().toArray().length);
+    }
+
+    @DisplayName("get beyond the size fails even when the backing array is larger")
+    @Test
+    void rejectsIndexBeyondSize() {
+        IntArrayList list = new IntArrayList(16);
+        list.add(1);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+    }
+}
@@ -0,0 +1,55 @@
+package core.collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntHashSetTests {
+
+    @DisplayName("add reports duplicates and contains finds every added key")
+    @Test
+    void addsAndFindsKeys() {
+        IntHashSet set = new IntHashSet();
+
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(7));
+        assertFalse(set.add(7));
+        assertTrue(set.contains(7));
+        assertFalse(set.contains(8));
+        assertEquals(1, set.size());
+    }
+
+    @DisplayName("The sentinel key Integer.MIN_VALUE is stored like any other key")
+    @Test
+    void sentinelKey() {
+        IntHashSet set = new IntHashSet(0);
+
+        assertFalse(set.contains(Integer.MIN_VALUE));
+        assertTrue(set.add(Integer.MIN_VALUE));
+        assertFalse(set.add(Integer.MIN_VALUE));
+        assertTrue(set.contains(Integer.MIN_VALUE));
+        assertEquals(1, set.size());
+    }
+
+    @DisplayName("Growing past the initial capacity keeps every key, including colliding ones")
+    @Test
+    void growsWithoutLosingKeys() {
+        IntHashSet set = new IntHashSet(2);
+        Set<Integer> expected = new HashSet<>();
+        for (int i = -20_000; i < 20_000; i++) {
+            // multiples of a large power of two stress the probe sequence
+            int key = i << 16;
+            assertEquals(expected.add(key), set.add(key));
+        }
+
+        assertEquals(expected.size(), set.size());
+        expected.forEach(key -> assertTrue(set.contains(key), "missing " + key));
+        assertFalse(set.contains(1));
+    }
+}
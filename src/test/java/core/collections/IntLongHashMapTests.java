@@ -0,0 +1,72 @@
+package core.collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntLongHashMapTests {
+
+    @DisplayName("Absent keys return the missing value")
+    @Test
+    void absentKeysReturnMissingValue() {
+        IntLongHashMap map = new IntLongHashMap(0, -1);
+
+        assertTrue(map.isEmpty());
+        assertEquals(-1, map.get(42));
+        assertFalse(map.containsKey(42));
+        assertEquals(-1, map.put(42, 7));
+        assertEquals(7, map.get(42));
+    }
+
+    @DisplayName("put replaces and putIfAbsent keeps the existing value")
+    @Test
+    void putAndPutIfAbsent() {
+        IntLongHashMap map = new IntLongHashMap(4, 0);
+
+        assertEquals(0, map.putIfAbsent(1, 10));
+        assertEquals(10, map.putIfAbsent(1, 20));
+        assertEquals(10, map.get(1));
+        assertEquals(10, map.put(1, 30));
+        assertEquals(30, map.get(1));
+        assertEquals(1, map.size());
+    }
+
+    @DisplayName("The sentinel key Integer.MIN_VALUE is stored like any other key")
+    @Test
+    void sentinelKey() {
+        IntLongHashMap map = new IntLongHashMap(4, 0);
+
+        assertEquals(0, map.putIfAbsent(Integer.MIN_VALUE, 5));
+        assertEquals(5, map.putIfAbsent(Integer.MIN_VALUE, 6));
+        assertEquals(5, map.put(Integer.MIN_VALUE, 7));
+        assertTrue(map.containsKey(Integer.MIN_VALUE));
+        assertEquals(7, map.get(Integer.MIN_VALUE));
+        assertEquals(1, map.size());
+    }
+
+    @DisplayName("Growing past the initial capacity keeps every entry")
+    @Test
+    void growsAndIterates() {
+        IntLongHashMap map = new IntLongHashMap(2, 0);
+        Map<Integer, Long> expected = new HashMap<>();
+        for (int i = -5_000; i < 5_000; i++) {
+            int key = i * 7919;
+            map.put(key, i * 3L);
+            expected.put(key, i * 3L);
+        }
+        map.put(Integer.MIN_VALUE, 1);
+        expected.put(Integer.MIN_VALUE, 1L);
+
+        Map<Integer, Long> actual = new HashMap<>();
+        map.forEach(actual::put);
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, actual);
+    }
+}
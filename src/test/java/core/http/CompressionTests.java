@@ -0,0 +1,110 @@
+package core.http;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressionTests {
+
+    private static final byte[] BODY = "[{\"id\":1,\"title\":\"Book 1\"}]".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+    private static byte[] inflate(String encoding, byte[] encoded, int chunkSize) {
+        AtomicLong inflated = new AtomicLong();
+        HttpResponse.BodySubscriber<byte[]> subscriber =
+                Compression.inflating(encoding, HttpResponse.BodySubscribers.ofByteArray(), inflated);
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        for (int i = 0; i < encoded.length; i += chunkSize) {
+            subscriber.onNext(List.of(ByteBuffer.wrap(Arrays.copyOfRange(encoded, i, Math.min(encoded.length, i + chunkSize)))));
+        }
+        subscriber.onComplete();
+        byte[] body = subscriber.getBody().toCompletableFuture().join();
+        assertEquals(body.length, inflated.get());
+        return body;
+    }
+
+    private static byte[] deflate(byte[] body, boolean raw) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, new Deflater(Deflater.DEFAULT_COMPRESSION, raw))) {
+            out.write(body);
+        }
+        return bytes.toByteArray();
+    }
+
+    @DisplayName("gzip bodies are inflated whatever the chunk size")
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 7, 10, 1024, Integer.MAX_VALUE})
+    void inflatesGzip(int chunkSize) {
+        assertArrayEquals(BODY, inflate("gzip", Compression.gzip(BODY), chunkSize));
+    }
+
+    @DisplayName("deflate bodies are inflated with and without the zlib wrapper")
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, Integer.MAX_VALUE})
+    void inflatesZlibAndRawDeflate(int chunkSize) throws IOException {
+        assertArrayEquals(BODY, inflate("deflate", deflate(BODY, false), chunkSize));
+        assertArrayEquals(BODY, inflate("deflate", deflate(BODY, true), chunkSize));
+    }
+
+    @DisplayName("Empty bodies pass through unchanged")
+    @Test
+    void passesEmptyBodyThrough() {
+        assertEquals(0, inflate("gzip", new byte[0], 1).length);
+        assertEquals(0, inflate("deflate", new byte[0], 1).length);
+    }
+
+    @DisplayName("Truncated and corrupt gzip bodies fail")
+    @Test
+    void rejectsTruncatedAndCorruptGzip() {
+        byte[] gzipped = Compression.gzip(BODY);
+        byte[] truncated = Arrays.copyOf(gzipped, gzipped.length - 4);
+        byte[] badCrc = gzipped.clone();
+        badCrc[badCrc.length - 8] ^= 1;
+        byte[] notGzip = "not gzip at all".getBytes(StandardCharsets.UTF_8);
+
+        for (byte[] body : List.of(truncated, badCrc, notGzip)) {
+            CompletionException e = assertThrows(CompletionException.class, () -> inflate("gzip", body, 16));
+            assertInstanceOf(IOException.class, e.getCause());
+        }
+    }
+
+    @DisplayName("Responses that cannot have a body are never inflated")
+    @Test
+    void skipsResponsesWithoutBody() {
+        assertTrue(Compression.isEncodedBody("GET", 200, "gzip"));
+        assertTrue(Compression.isEncodedBody("DELETE", 200, " Deflate "));
+        assertFalse(Compression.isEncodedBody("HEAD", 200, "gzip"));
+        assertFalse(Compression.isEncodedBody("GET", 204, "gzip"));
+        assertFalse(Compression.isEncodedBody("GET", 304, "gzip"));
+        assertFalse(Compression.isEncodedBody("GET", 200, "br"));
+        assertFalse(Compression.isEncodedBody("GET", 200, null));
+    }
+}
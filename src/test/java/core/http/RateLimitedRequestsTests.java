@@ -0,0 +1,86 @@
+package core.http;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sun.net.httpserver.HttpServer;
+import core.http.cache.ResponseCache;
+import core.http.ratelimit.RateLimiter;
+import core.http.ratelimit.TokenBucket;
+import core.http.replay.HttpArchive;
+import core.http.resilience.Resilience;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimitedRequestsTests {
+
+    private static final TypeReference<Map<String, Object>> TYPE = new TypeReference<>() {
+    };
+
+    private HttpServer server;
+    private RestClient client;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        RateLimiter limiter = new RateLimiter(new TokenBucket("localhost", 4, 1), List.of(), RateLimiter.Mode.BLOCKING);
+        client = new RestClient("http://127.0.0.1:" + server.getAddress().getPort(), ClientExecutors.shared(),
+                JsonCodec.getDefault(), Resilience.disabled(), ResponseCache.DISABLED, limiter, HttpArchive.OFF);
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @DisplayName("Async calls in blocking mode wait on a timer instead of parking the caller")
+    @Test
+    void asyncCallsDoNotPark() throws Exception {
+        long start = System.nanoTime();
+        List<CompletableFuture<Response<Map<String, Object>>>> calls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            calls.add(client.getAsync("/api/v1/Books", TYPE));
+        }
+        long issued = System.nanoTime() - start;
+
+        for (CompletableFuture<Response<Map<String, Object>>> call : calls) {
+            assertEquals(200, call.get(10, TimeUnit.SECONDS).getStatusCode());
+        }
+        assertTrue(issued < Duration.ofMillis(250).toNanos(), "getAsync parked for " + issued / 1_000_000 + " ms");
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(450).toNanos(), "the limiter still spaced the calls");
+    }
+
+    @DisplayName("Blocking calls in blocking mode park the calling thread")
+    @Test
+    void blockingCallsPark() throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, client.get("/api/v1/Books", TYPE).getStatusCode());
+        }
+
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(450).toNanos());
+    }
+}
@@ -0,0 +1,107 @@
+package core.http;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sun.net.httpserver.HttpServer;
+import core.http.cache.ResponseCache;
+import core.http.ratelimit.RateLimiter;
+import core.http.replay.HttpArchive;
+import core.http.resilience.Resilience;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+public class RequestCoalescingTests {
+
+    private static final TypeReference<Map<String, Object>> TYPE = new TypeReference<>() {
+    };
+
+    private final AtomicInteger served = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+    private RestClient client;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            int n = served.incrementAndGet();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("{\"request\":" + n + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        client = new RestClient("http://127.0.0.1:" + server.getAddress().getPort(), ClientExecutors.shared(),
+                JsonCodec.getDefault(), Resilience.fromConfig(), ResponseCache.DISABLED, RateLimiter.DISABLED, HttpArchive.OFF);
+        client.setCoalescing(true);
+    }
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+    }
+
+    @DisplayName("Concurrent GETs for one path share a request; each caller gets its own decoded body")
+    @Test
+    void concurrentGetsShareOneRequest() throws Exception {
+        List<CompletableFuture<Response<Map<String, Object>>>> calls = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            calls.add(client.getAsync("/api/v1/Books", TYPE));
+        }
+        release.countDown();
+
+        List<Map<String, Object>> bodies = new ArrayList<>();
+        for (CompletableFuture<Response<Map<String, Object>>> call : calls) {
+            bodies.add(call.get(10, TimeUnit.SECONDS).getBody());
+        }
+
+        assertEquals(1, served.get());
+        assertEquals(4, client.getCoalescedGets());
+        bodies.forEach(body -> assertEquals(1, body.get("request")));
+        assertNotSame(bodies.get(0), bodies.get(1));
+    }
+
+    @DisplayName("Different paths and later GETs are not coalesced")
+    @Test
+    void differentPathsAndLaterGetsAreSent() throws Exception {
+        release.countDown();
+        CompletableFuture<Response<Map<String, Object>>> books = client.getAsync("/api/v1/Books", TYPE);
+        CompletableFuture<Response<Map<String, Object>>> authors = client.getAsync("/api/v1/Authors", TYPE);
+        books.get(10, TimeUnit.SECONDS);
+        authors.get(10, TimeUnit.SECONDS);
+
+        client.getAsync("/api/v1/Books", TYPE).get(10, TimeUnit.SECONDS);
+
+        assertEquals(3, served.get());
+        assertEquals(0, client.getCoalescedGets());
+    }
+}
@@ -0,0 +1,89 @@
+package core.http;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sun.net.httpserver.HttpServer;
+import core.http.cache.ResponseCache;
+import core.http.ratelimit.RateLimiter;
+import core.http.replay.HttpArchive;
+import core.http.resilience.HedgePolicy;
+import core.http.resilience.Resilience;
+import core.http.resilience.RetryPolicy;
+import core.http.resilience.Timeouts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RequestHedgingTests {
+
+    private static final TypeReference<Map<String, Object>> TYPE = new TypeReference<>() {
+    };
+
+    private final AtomicInteger served = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+    private RestClient client;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            served.incrementAndGet();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        Resilience resilience = new Resilience(RetryPolicy.NONE, new HedgePolicy(true, 95, Duration.ofMillis(20), 100, 1000),
+                new Timeouts(Duration.ofSeconds(30), Map.of()), false, Integer.MAX_VALUE, Duration.ZERO, 1);
+        client = new RestClient("http://127.0.0.1:" + server.getAddress().getPort(), ClientExecutors.shared(),
+                JsonCodec.getDefault(), resilience, ResponseCache.DISABLED, RateLimiter.DISABLED, HttpArchive.OFF);
+    }
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+    }
+
+    @DisplayName("A hedge fired on the executor keeps the caller's deadline")
+    @Test
+    void hedgeKeepsCallerDeadline() {
+        CompletableFuture<Response<Map<String, Object>>> call;
+        try (Deadline.Scope scope = Deadline.after(Duration.ofMillis(300)).enter()) {
+            call = client.getAsync("/api/v1/Books", TYPE);
+        }
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> call.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(RequestTimeoutException.class, failure.getCause());
+        assertEquals(2, served.get());
+    }
+}
@@ -0,0 +1,48 @@
+package core.http;
+
+import model.ErrorModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ResponseTests {
+
+    private static final byte[] NOT_FOUND = "{\"title\":\"Not Found\",\"status\":404}".getBytes(StandardCharsets.UTF_8);
+
+    private final Exchange.Decoder<ErrorModel> errorDecoder = body -> JsonCodec.getDefault().getMapper().readValue(body, ErrorModel.class);
+
+    @DisplayName("getBody of a 404 is null and never runs the success decoder")
+    @Test
+    void bodyOfErrorResponseIsNull() {
+        Exchange.Decoder<String> decoder = body -> {
+            throw new IOException("success decoder called for an error body");
+        };
+        Response<String> response = new Response<>(404, NOT_FOUND, decoder, errorDecoder, null);
+
+        assertNull(response.getBody());
+        assertEquals("Not Found", response.getError().title);
+    }
+
+    @DisplayName("A response requested as ErrorModel returns the error document from getBody")
+    @Test
+    void errorRequestReturnsErrorBody() {
+        Response<ErrorModel> response = new Response<>(404, NOT_FOUND, errorDecoder, errorDecoder, null);
+
+        assertEquals(404, response.getBody().status);
+    }
+
+    @DisplayName("getBody of a 2xx response is decoded")
+    @Test
+    void bodyOfSuccessfulResponseIsDecoded() {
+        Response<String> response = new Response<>(200, "ok".getBytes(StandardCharsets.UTF_8),
+                body -> new String(body, StandardCharsets.UTF_8), errorDecoder, null);
+
+        assertEquals("ok", response.getBody());
+        assertNull(response.getError());
+    }
+}
@@ -0,0 +1,108 @@
+package core.http;
+
+import com.sun.net.httpserver.HttpServer;
+import core.http.cache.ResponseCache;
+import core.http.ratelimit.RateLimiter;
+import core.http.replay.HttpArchive;
+import core.http.resilience.HedgePolicy;
+import core.http.resilience.Resilience;
+import core.http.resilience.RetryPolicy;
+import core.http.resilience.Timeouts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StreamedRequestsTests {
+
+    private static final byte[] BODY = "[{\"id\":1},{\"id\":2},{\"id\":3}]".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger served = new AtomicInteger();
+    private HttpServer server;
+    private String baseUrl;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            // the first request of every test is turned away, as by an overloaded server
+            if (served.incrementAndGet() == 1) {
+                exchange.sendResponseHeaders(503, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BODY);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    private RestClient client(HttpArchive archive) {
+        Resilience resilience = new Resilience(new RetryPolicy(2, Duration.ofMillis(1), Duration.ofMillis(1), Duration.ZERO, Set.of(503)),
+                HedgePolicy.DISABLED, new Timeouts(Duration.ofSeconds(10), Map.of()), false, Integer.MAX_VALUE, Duration.ZERO, 1);
+        return new RestClient(baseUrl, ClientExecutors.shared(), JsonCodec.getDefault(), resilience, ResponseCache.DISABLED,
+                RateLimiter.DISABLED, archive);
+    }
+
+    private static List<Object> ids(Response<Stream<Map>> response) {
+        try (Stream<Map> elements = response.getBody()) {
+            return elements.map(element -> element.get("id")).collect(Collectors.toList());
+        }
+    }
+
+    @DisplayName("Streamed calls are retried like buffered ones")
+    @Test
+    void streamIsRetried() throws Exception {
+        Response<Stream<Map>> response = client(HttpArchive.OFF).stream("/api/v1/Books", Map.class);
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(List.of(1, 2, 3), ids(response));
+        assertEquals(2, served.get());
+    }
+
+    @DisplayName("Streamed calls are recorded and replayed from the archive")
+    @Test
+    void streamIsRecordedAndReplayed() throws Exception {
+        Path file = directory.resolve("archive.bin");
+        try (HttpArchive recording = HttpArchive.recording(file)) {
+            assertEquals(List.of(1, 2, 3), ids(client(recording).stream("/api/v1/Books", Map.class)));
+        }
+        server.stop(0);
+
+        try (HttpArchive replaying = HttpArchive.replaying(file, 0)) {
+            Response<Stream<Map>> response = client(replaying).streamAsync("/api/v1/Books", Map.class).get();
+
+            assertEquals(200, response.getStatusCode(), "the replayed 503 is retried like the recorded one");
+            assertEquals(List.of(1, 2, 3), ids(response));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package core.http.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResponseCacheTests {
+
+    private static final HttpHeaders NO_HEADERS = HttpHeaders.of(Map.of(), (name, value) -> true);
+    private static final HttpHeaders ETAG = HttpHeaders.of(Map.of("ETag", List.of("\"v1\"")), (name, value) -> true);
+
+    private final ResponseCache cache = new ResponseCache(true, 100, Duration.ofHours(1),
+            Map.of("/api/v1/Authors/{id}", Duration.ZERO));
+
+    private void store(String path, HttpHeaders headers) {
+        cache.store(path, path.getBytes(StandardCharsets.UTF_8), headers, cache.generation());
+    }
+
+    @DisplayName("Fresh entries are hits and absent paths are misses")
+    @Test
+    void hitsAndMisses() {
+        store("/api/v1/Books/1", NO_HEADERS);
+
+        ResponseCache.Entry entry = cache.lookup("/api/v1/Books/1");
+
+        assertNotNull(entry);
+        assertTrue(entry.isFresh());
+        assertNull(cache.lookup("/api/v1/Books/2"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @DisplayName("Expired entries are dropped without validators and kept stale with them")
+    @Test
+    void expiredEntries() {
+        store("/api/v1/Authors/1", NO_HEADERS);
+        store("/api/v1/Authors/2", ETAG);
+
+        assertNull(cache.lookup("/api/v1/Authors/1"));
+        ResponseCache.Entry stale = cache.lookup("/api/v1/Authors/2");
+        assertNotNull(stale);
+        assertFalse(stale.isFresh());
+        assertEquals("\"v1\"", stale.getEtag());
+        assertEquals(1, cache.size());
+    }
+
+    @DisplayName("A no-store response is not cached")
+    @Test
+    void noStore() {
+        store("/api/v1/Books/1", HttpHeaders.of(Map.of("Cache-Control", List.of("private, no-store")), (name, value) -> true));
+
+        assertEquals(0, cache.size());
+    }
+
+    @DisplayName("A write invalidates the path, everything below it and its parent collection only")
+    @Test
+    void invalidatesPathBelowAndParent() {
+        List<String> dropped = List.of("/api/v1/Books/1", "/api/v1/Books/1?expand=true", "/api/v1/Books/1/Authors",
+                "/api/v1/Books", "/api/v1/Books?page=2");
+        List<String> kept = List.of("/api/v1/Books/10", "/api/v1/Books/1-draft", "/api/v1/Authors", "/api/v1");
+        dropped.forEach(path -> store(path, NO_HEADERS));
+        kept.forEach(path -> store(path, NO_HEADERS));
+
+        cache.invalidate("/api/v1/Books/1");
+
+        dropped.forEach(path -> assertNull(cache.lookup(path), path));
+        kept.forEach(path -> assertNotNull(cache.lookup(path), path));
+        assertEquals(dropped.size(), cache.getInvalidations());
+        assertEquals(kept.size(), cache.size());
+    }
+
+    @DisplayName("A response read before a write is not stored after it")
+    @Test
+    void dropsStoreStartedBeforeWrite() {
+        long startedAt = cache.generation();
+        cache.invalidate("/api/v1/Books/1");
+
+        cache.store("/api/v1/Books/1", new byte[0], NO_HEADERS, startedAt);
+
+        assertEquals(0, cache.size());
+    }
+
+    @DisplayName("A revalidation started before a write does not put the entry back")
+    @Test
+    void dropsRevalidationStartedBeforeWrite() {
+        store("/api/v1/Authors/2", ETAG);
+        long startedAt = cache.generation();
+        ResponseCache.Entry stale = cache.lookup("/api/v1/Authors/2");
+        cache.invalidate("/api/v1/Authors/2");
+
+        ResponseCache.Entry returned = cache.revalidated("/api/v1/Authors/2", stale, startedAt);
+
+        assertSame(stale, returned);
+        assertEquals(0, cache.size());
+    }
+
+    @DisplayName("A revalidation without a write in between keeps the entry")
+    @Test
+    void revalidationKeepsEntry() {
+        store("/api/v1/Authors/2", ETAG);
+        long startedAt = cache.generation();
+        ResponseCache.Entry stale = cache.lookup("/api/v1/Authors/2");
+
+        cache.revalidated("/api/v1/Authors/2", stale, startedAt);
+
+        assertSame(stale, cache.lookup("/api/v1/Authors/2"));
+        assertEquals(1, cache.getRevalidations());
+    }
+
+    @DisplayName("Least recently used entries are evicted and leave the invalidation index")
+    @Test
+    void evictsLeastRecentlyUsed() {
+        ResponseCache small = new ResponseCache(true, 2, Duration.ofHours(1), Map.of());
+        small.store("/api/v1/Books/1", new byte[0], NO_HEADERS, small.generation());
+        small.store("/api/v1/Books/2", new byte[0], NO_HEADERS, small.generation());
+        small.lookup("/api/v1/Books/1");
+        small.store("/api/v1/Books/3", new byte[0], NO_HEADERS, small.generation());
+
+        assertNull(small.lookup("/api/v1/Books/2"));
+        assertEquals(1, small.getEvictions());
+
+        small.invalidate("/api/v1/Books/2");
+        assertEquals(0, small.getInvalidations());
+        small.invalidate("/api/v1/Books");
+        assertEquals(2, small.getInvalidations());
+        assertEquals(0, small.size());
+    }
+
+    @DisplayName("A disabled cache stores nothing")
+    @Test
+    void disabled() {
+        ResponseCache.DISABLED.store("/api/v1/Books/1", new byte[0], NO_HEADERS, ResponseCache.DISABLED.generation());
+
+        assertNull(ResponseCache.DISABLED.lookup("/api/v1/Books/1"));
+        assertEquals(0, ResponseCache.DISABLED.size());
+    }
+}
@@ -0,0 +1,68 @@
+package core.http.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimiterTests {
+
+    @DisplayName("Requests take a token from the host and from the longest matching prefix")
+    @Test
+    void usesHostAndLongestPrefix() {
+        TokenBucket host = new TokenBucket("localhost", 1_000, 100);
+        TokenBucket api = new TokenBucket("localhost/api", 1_000, 100);
+        TokenBucket books = new TokenBucket("localhost/api/v1/Books", 1, 1);
+        RateLimiter limiter = new RateLimiter(host, List.of(Map.entry("/api", api), Map.entry("/api/v1/Books", books)),
+                RateLimiter.Mode.ASYNC);
+
+        assertEquals(0, limiter.reserve("/api/v1/Books/1"));
+        assertTrue(limiter.reserve("/api/v1/Books/2") > 0, "Books prefix allows one call per second");
+        assertEquals(0, limiter.reserve("/api/v1/Authors"));
+
+        assertEquals(3, host.getAcquired());
+        assertEquals(1, api.getAcquired());
+        assertEquals(2, books.getAcquired());
+    }
+
+    @DisplayName("429 throttles the host and prefix buckets, other client errors count as success, 5xx is ignored")
+    @Test
+    void adaptsToResponses() {
+        TokenBucket host = new TokenBucket("localhost", 100, 1);
+        TokenBucket books = new TokenBucket("localhost/api/v1/Books", 100, 1);
+        RateLimiter limiter = new RateLimiter(host, List.of(Map.entry("/api/v1/Books", books)), RateLimiter.Mode.ASYNC);
+
+        limiter.onResponse("/api/v1/Books/1", 429);
+        assertEquals(50, host.getCurrentRate());
+        assertEquals(50, books.getCurrentRate());
+
+        limiter.onResponse("/api/v1/Authors", 503);
+        assertEquals(50, host.getCurrentRate());
+        limiter.onResponse("/api/v1/Authors", 404);
+        assertEquals(51, host.getCurrentRate(), 1e-9);
+        assertEquals(50, books.getCurrentRate());
+    }
+
+    @DisplayName("The disabled limiter never waits")
+    @Test
+    void disabled() {
+        assertFalse(RateLimiter.DISABLED.isEnabled());
+        assertEquals(0, RateLimiter.DISABLED.reserve("/api/v1/Books"));
+        assertTrue(RateLimiter.DISABLED.getBuckets().isEmpty());
+    }
+
+    @DisplayName("Rate lists are parsed as name:rate pairs")
+    @Test
+    void parsesRates() {
+        assertEquals(Map.of("fakerestapi.azurewebsites.net", 20.0, "localhost", 0.5),
+                RateLimiter.parseRates(" fakerestapi.azurewebsites.net:20, localhost:0.5"));
+        assertTrue(RateLimiter.parseRates("").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.parseRates("localhost"));
+    }
+}
@@ -0,0 +1,68 @@
+package core.http.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketTests {
+
+    @DisplayName("A full bucket serves its burst without waiting, then spaces calls at the rate")
+    @Test
+    void burstThenRate() {
+        TokenBucket bucket = new TokenBucket("localhost", 1, 3);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        long fourth = bucket.reserve();
+        long fifth = bucket.reserve();
+
+        assertTrue(fourth > TimeUnit.MILLISECONDS.toNanos(900) && fourth <= TimeUnit.SECONDS.toNanos(1), "wait " + fourth);
+        assertTrue(fifth > TimeUnit.MILLISECONDS.toNanos(1900) && fifth <= TimeUnit.SECONDS.toNanos(2), "wait " + fifth);
+        assertEquals(5, bucket.getAcquired());
+        assertEquals(2, bucket.getDelayed());
+        assertEquals(5, bucket.getWaitMicros().getTotalCount());
+    }
+
+    @DisplayName("Each 429 halves the rate down to a sixteenth of the configured rate")
+    @Test
+    void throttlingHalvesRate() {
+        TokenBucket bucket = new TokenBucket("localhost", 160, 1);
+
+        bucket.onThrottled();
+        assertEquals(80, bucket.getCurrentRate());
+        for (int i = 0; i < 10; i++) {
+            bucket.onThrottled();
+        }
+
+        assertEquals(10, bucket.getCurrentRate());
+        assertEquals(11, bucket.getThrottled());
+    }
+
+    @DisplayName("Successes restore the rate by 1% of the configured rate, never beyond it")
+    @Test
+    void successesRestoreRate() {
+        TokenBucket bucket = new TokenBucket("localhost", 100, 1);
+        bucket.onThrottled();
+
+        bucket.onSuccess();
+        assertEquals(51, bucket.getCurrentRate(), 1e-9);
+        for (int i = 0; i < 100; i++) {
+            bucket.onSuccess();
+        }
+
+        assertEquals(100, bucket.getCurrentRate());
+    }
+
+    @DisplayName("A non-positive rate is rejected and the burst is at least one")
+    @Test
+    void validatesArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket("localhost", 0, 1));
+        assertEquals(1, new TokenBucket("localhost", 1, 0).getBurst());
+    }
+}
@@ -0,0 +1,110 @@
+package core.http.replay;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpArchiveTests {
+
+    private static final HttpRequest REQUEST = HttpRequest.newBuilder(URI.create("http://localhost/api/v1/Books")).build();
+    private static final Executor DIRECT = Runnable::run;
+
+    @TempDir
+    Path directory;
+
+    private static HttpResponse<byte[]> response(int status, String body, Map<String, List<String>> headers) {
+        return new ReplayedResponse(REQUEST, new ArchiveRecord(0, 0, status, "GET", "/", null, headers,
+                body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String replay(HttpArchive archive, String method, String path, String requestBody) {
+        byte[] request = requestBody == null ? null : requestBody.getBytes(StandardCharsets.UTF_8);
+        return new String(archive.replay(REQUEST, method, path, request, DIRECT).join().body(), StandardCharsets.UTF_8);
+    }
+
+    @DisplayName("Recorded exchanges replay in order and cycle per method, path and body")
+    @Test
+    void replaysInOrderAndCycles() throws IOException {
+        Path file = directory.resolve("archive.bin");
+        try (HttpArchive archive = HttpArchive.recording(file)) {
+            archive.record("GET", "/api/v1/Books", null, response(200, "first", Map.of()), 0, 0);
+            archive.record("GET", "/api/v1/Books", null, response(200, "second", Map.of()), 0, 0);
+            archive.record("POST", "/api/v1/Books", "{\"id\":1}".getBytes(StandardCharsets.UTF_8), response(200, "created 1", Map.of()), 0, 0);
+        }
+
+        HttpArchive replay = HttpArchive.replaying(file, 0);
+
+        assertTrue(replay.isReplaying());
+        assertEquals("first", replay(replay, "GET", "/api/v1/Books", null));
+        assertEquals("second", replay(replay, "GET", "/api/v1/Books", null));
+        assertEquals("first", replay(replay, "GET", "/api/v1/Books", null));
+        assertEquals("created 1", replay(replay, "POST", "/api/v1/Books", "{\"id\":1}"));
+        assertEquals("created 1", replay(replay, "POST", "/api/v1/Books", "{\"id\":2}"), "falls back to method and path");
+    }
+
+    @DisplayName("Appending to an existing archive keeps earlier records")
+    @Test
+    void appendsToExistingArchive() throws IOException {
+        Path file = directory.resolve("archive.bin");
+        try (HttpArchive archive = HttpArchive.recording(file)) {
+            archive.record("GET", "/a", null, response(200, "a", Map.of()), 0, 0);
+        }
+        try (HttpArchive archive = HttpArchive.recording(file)) {
+            archive.record("GET", "/b", null, response(404, "b", Map.of()), 0, 0);
+        }
+
+        HttpArchive replay = HttpArchive.replaying(file, 0);
+
+        assertEquals("a", replay(replay, "GET", "/a", null));
+        assertEquals(404, replay.replay(REQUEST, "GET", "/b", null, DIRECT).join().statusCode());
+    }
+
+    @DisplayName("Content-Encoding and Content-Length are not recorded with the inflated body")
+    @Test
+    void dropsEncodingHeaders() throws IOException {
+        Path file = directory.resolve("archive.bin");
+        try (HttpArchive archive = HttpArchive.recording(file)) {
+            archive.record("GET", "/api/v1/Books", null, response(200, "[]", Map.of(
+                    "content-encoding", List.of("gzip"),
+                    "Content-Length", List.of("22"),
+                    "etag", List.of("\"v1\""))), 0, 0);
+        }
+
+        HttpResponse<byte[]> replayed = HttpArchive.replaying(file, 0).replay(REQUEST, "GET", "/api/v1/Books", null, DIRECT).join();
+
+        assertFalse(replayed.headers().firstValue("Content-Encoding").isPresent());
+        assertFalse(replayed.headers().firstValue("Content-Length").isPresent());
+        assertEquals("\"v1\"", replayed.headers().firstValue("ETag").orElseThrow());
+    }
+
+    @DisplayName("Unrecorded requests fail and non-archive files are rejected")
+    @Test
+    void rejectsUnknownRequestsAndFiles() throws IOException {
+        Path file = directory.resolve("archive.bin");
+        HttpArchive.recording(file).close();
+        Path other = Files.writeString(directory.resolve("other.bin"), "not an archive");
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> HttpArchive.replaying(file, 0).replay(REQUEST, "GET", "/missing", null, DIRECT).join());
+        assertInstanceOf(IOException.class, e.getCause());
+        assertThrows(IOException.class, () -> HttpArchive.replaying(other, 0));
+    }
+}
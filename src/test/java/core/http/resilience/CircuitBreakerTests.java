@@ -0,0 +1,96 @@
+package core.http.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CircuitBreakerTests {
+
+    private static CircuitBreaker open(Duration openDuration) {
+        CircuitBreaker breaker = new CircuitBreaker("GET /api/v1/Books", 3, openDuration, 1);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+        return breaker;
+    }
+
+    @DisplayName("Opens after the threshold of consecutive failures and rejects calls")
+    @Test
+    void opensAfterThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker("GET /api/v1/Books", 3, Duration.ofHours(1), 1);
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(1, breaker.getTimesOpened());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(1, breaker.getRejected());
+    }
+
+    @DisplayName("Half-open lets the configured probes through; a success closes it")
+    @Test
+    void halfOpenProbeSuccessCloses() {
+        CircuitBreaker breaker = open(Duration.ZERO);
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getConsecutiveFailures());
+    }
+
+    @DisplayName("A failed half-open probe reopens the breaker")
+    @Test
+    void halfOpenProbeFailureReopens() {
+        CircuitBreaker breaker = open(Duration.ZERO);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2, breaker.getTimesOpened());
+    }
+
+    @DisplayName("A cancelled probe frees its slot")
+    @Test
+    void cancelledProbeFreesSlot() {
+        CircuitBreaker breaker = open(Duration.ZERO);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onCancel();
+
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @DisplayName("Outcomes of calls in flight while open neither close nor extend the open window")
+    @Test
+    void lateOutcomesWhileOpenAreIgnored() throws InterruptedException {
+        CircuitBreaker breaker = open(Duration.ofMillis(50));
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        Thread.sleep(60);
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(1, breaker.getTimesOpened());
+        assertTrue(breaker.tryAcquire(), "late failures must not restart the open window");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+}
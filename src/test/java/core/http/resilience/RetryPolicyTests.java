@@ -0,0 +1,76 @@
+package core.http.resilience;
+
+import core.http.RequestTimeoutException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RetryPolicyTests {
+
+    private final RetryPolicy policy = new RetryPolicy(3, Duration.ofMillis(100), Duration.ofMillis(250),
+            Duration.ofSeconds(5), Set.of(429, 502, 503));
+
+    private static HttpHeaders retryAfter(String value) {
+        return HttpHeaders.of(Map.of("Retry-After", List.of(value)), (name, v) -> true);
+    }
+
+    @DisplayName("Idempotent requests are retried on retryable statuses and transient failures")
+    @Test
+    void retriesIdempotentRequests() {
+        assertTrue(policy.nextDelay("GET", 1, 503, null, null).isPresent());
+        assertTrue(policy.nextDelay("DELETE", 1, -1, null, new IOException("reset")).isPresent());
+        assertTrue(policy.nextDelay("PUT", 1, -1, null, new RequestTimeoutException("timed out", Duration.ZERO)).isPresent());
+        assertFalse(policy.nextDelay("GET", 1, 500, null, null).isPresent());
+        assertFalse(policy.nextDelay("GET", 1, -1, null, new IllegalStateException()).isPresent());
+    }
+
+    @DisplayName("POST is retried only on 429")
+    @Test
+    void retriesPostOnlyOn429() {
+        assertTrue(policy.nextDelay("POST", 1, 429, null, null).isPresent());
+        assertFalse(policy.nextDelay("POST", 1, 503, null, null).isPresent());
+        assertFalse(policy.nextDelay("POST", 1, -1, null, new IOException("reset")).isPresent());
+    }
+
+    @DisplayName("No retry once the attempts are used up")
+    @Test
+    void stopsAtMaxAttempts() {
+        assertTrue(policy.nextDelay("GET", 2, 503, null, null).isPresent());
+        assertFalse(policy.nextDelay("GET", 3, 503, null, null).isPresent());
+        assertFalse(RetryPolicy.NONE.nextDelay("GET", 1, 503, null, null).isPresent());
+    }
+
+    @DisplayName("Backoff stays within the exponential ceiling and the maximum delay")
+    @Test
+    void backoffIsBounded() {
+        for (int i = 0; i < 1_000; i++) {
+            long first = policy.nextDelay("GET", 1, 503, null, null).orElseThrow().toMillis();
+            long second = policy.nextDelay("GET", 2, 503, null, null).orElseThrow().toMillis();
+            assertTrue(first >= 0 && first <= 100, "attempt 1 delay " + first);
+            assertTrue(second >= 0 && second <= 200, "attempt 2 delay " + second);
+        }
+        RetryPolicy manyAttempts = new RetryPolicy(100, Duration.ofMillis(100), Duration.ofMillis(250), Duration.ZERO, Set.of(503));
+        assertTrue(manyAttempts.nextDelay("GET", 60, 503, null, null).orElseThrow().toMillis() <= 250);
+    }
+
+    @DisplayName("Retry-After wins over backoff up to the configured maximum")
+    @Test
+    void honoursRetryAfter() {
+        assertEquals(Optional.of(Duration.ofSeconds(2)), policy.nextDelay("GET", 1, 503, retryAfter("2"), null));
+        assertEquals(Optional.of(Duration.ZERO), policy.nextDelay("GET", 1, 429, retryAfter("-5"), null));
+        assertFalse(policy.nextDelay("GET", 1, 503, retryAfter("60"), null).isPresent());
+        assertTrue(policy.nextDelay("GET", 1, 503, retryAfter("soon"), null).orElseThrow().toMillis() <= 100);
+        assertEquals(Optional.of(Duration.ZERO), RetryPolicy.retryAfter(retryAfter("Tue, 01 Jan 2019 00:00:00 GMT")));
+    }
+}
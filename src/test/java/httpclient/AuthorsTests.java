@@ -1,11 +1,14 @@
 package httpclient;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import configs.ConfigLoader;
 import core.http.Response;
-import core.http.RestClient;
+import core.http.RestClients;
+import core.http.metrics.MetricsExporter;
+import integrity.IntegrityReport;
+import integrity.ReferentialIntegrityChecker;
 import model.AuthorsModel;
 import model.ErrorModel;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import services.AuthorsService;
+import services.BooksService;
 
 import java.io.IOException;
 import java.util.List;
@@ -31,8 +35,12 @@ public class AuthorsTests {
 
     @BeforeEach
     void setup() {
-        RestClient client = new RestClient(ConfigLoader.getAuthorsUrl());
-        authors = new AuthorsService(client);
+        authors = new AuthorsService(RestClients.shared());
+    }
+
+    @AfterAll
+    static void attachMetrics() {
+        MetricsExporter.attachToAllure(RestClients.metricsSnapshot());
     }
 
     private AuthorsModel buildAuthors(int id, int idBook, String firstName, String lastName) {
@@ -125,6 +133,23 @@ public class AuthorsTests {
         assertEquals(expected.lastName, actual.lastName);
     }
 
+    @DisplayName("Create generated Author")
+    @Story("Create author")
+    @ParameterizedTest
+    @Step("Testing creation of generated author with ID: {author.id}")
+    @MethodSource("testData.AuthorTestData#generatedPostData")
+    void postGeneratedAuthor(AuthorsModel author) throws IOException, InterruptedException {
+        Response<AuthorsModel> response = authors.create(author);
+        assertEquals(200, response.getStatusCode());
+
+        AuthorsModel actual = response.getBody();
+
+        assertEquals(author.id, actual.id);
+        assertEquals(author.idBook, actual.idBook);
+        assertEquals(author.firstName, actual.firstName);
+        assertEquals(author.lastName, actual.lastName);
+    }
+
     @DisplayName("Try to Create Author with invalid data")
     @Story("Try to create author with invalid data")
     @ParameterizedTest
@@ -223,4 +248,17 @@ public class AuthorsTests {
 
         assertEquals(expected.firstName, actual.firstName);
     }
+
+    @DisplayName("Every author references an existing book")
+    @Story("Referential integrity")
+    @Test
+    void authorsReferenceExistingBooks() throws IOException, InterruptedException {
+        IntegrityReport report = new ReferentialIntegrityChecker(new BooksService(RestClients.shared()), authors).check();
+
+        Assertions.assertTrue(report.books > 0, "Books list should not be empty");
+        Assertions.assertTrue(report.authors > 0, "Authors list should not be empty");
+        assertEquals(0, report.duplicateBookIds, "Duplicate book ids: " + report.duplicateBookIdSample);
+        assertEquals(0, report.duplicateAuthorIds, "Duplicate author ids: " + report.duplicateAuthorIdSample);
+        assertEquals(0, report.orphanedAuthors, "Authors without a book: " + report.orphanSample);
+    }
 }
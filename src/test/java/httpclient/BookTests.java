@@ -1,11 +1,13 @@
 package httpclient;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import configs.ConfigLoader;
 import core.http.Response;
-import core.http.RestClient;
+import core.http.RestClients;
+import core.http.batch.BatchResult;
+import core.http.metrics.MetricsExporter;
 import model.BookModel;
 import model.ErrorModel;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,15 +15,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import services.BooksService;
+import snapshot.BookSnapshot;
+import snapshot.ChangeDetector;
+import snapshot.ChangeSet;
 import io.qameta.allure.*;
 import testData.BookTestData;
+import testData.TestIds;
 
 import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 @Epic("FakeREST API")
 @Feature("Books API")
@@ -32,8 +41,12 @@ public class BookTests {
 
     @BeforeEach
     void setup() {
-        RestClient client = new RestClient(ConfigLoader.getBooksUrl());
-        books = new BooksService(client);
+        books = new BooksService(RestClients.shared());
+    }
+
+    @AfterAll
+    static void attachMetrics() {
+        MetricsExporter.attachToAllure(RestClients.metricsSnapshot());
     }
 
     private BookModel buildBook(int id, String title, String description, int pageCount, String excerpt, String publishDate) {
@@ -102,6 +115,22 @@ public class BookTests {
         assertEquals("Not Found", error.title);
     }
 
+    @Story("Read error from a regular get")
+    @Test
+    void getMissingBookReturnsError() throws IOException, InterruptedException {
+        Response<BookModel> response = books.getByID(-6);
+        assertEquals(404, response.getStatusCode());
+        assertEquals("Not Found", response.getError().title);
+    }
+
+    @Story("Read body of a missing book")
+    @Test
+    void getMissingBookHasNoBody() throws IOException, InterruptedException {
+        Response<BookModel> response = books.getByID(-6);
+        assertEquals(404, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
     @DisplayName("Create Book with valid data")
     @Story("Create book")
     @ParameterizedTest
@@ -211,4 +240,84 @@ public class BookTests {
 
         assertEquals(expected.title, actual.title);
     }
+
+    @DisplayName("Create generated Book")
+    @Story("Create book")
+    @ParameterizedTest
+    @Step("Testing creation of generated book with ID: {book.id}")
+    @MethodSource("testData.BookTestData#generatedPostData")
+    void postGeneratedBook(BookModel book) throws IOException, InterruptedException {
+        Response<BookModel> response = books.create(book);
+        assertEquals(200, response.getStatusCode());
+
+        BookModel actual = response.getBody();
+
+        assertEquals(book.id, actual.id);
+        assertEquals(book.title, actual.title);
+        assertEquals(book.description, actual.description);
+        assertEquals(book.pageCount, actual.pageCount);
+    }
+
+    @DisplayName("Get Book by generated ID")
+    @Story("Get specific book")
+    @ParameterizedTest
+    @Step("Testing get book with generated ID: {testData.id}")
+    @MethodSource("testData.BookTestData#generatedGetData")
+    void getBookByGeneratedID(BookTestData.GetBookPositiveNegativeCase testData) throws IOException, InterruptedException {
+        Response<BookModel> response = books.getByID(testData.id);
+        assertEquals(testData.expectedStatus, response.getStatusCode());
+
+        String title = response.isSuccessful() ? response.getBody().title : response.getError().title;
+        assertEquals(testData.expectedTitle, title);
+    }
+
+    @DisplayName("Create books in bulk")
+    @Story("Create books in bulk")
+    @Test
+    void createBooksInBulk() throws InterruptedException {
+        List<BookModel> newBooks = IntStream.generate(TestIds::next).limit(20)
+                .mapToObj(id -> buildBook(id, "BulkBook " + id, "Bulk", 100 + id, "Bulk",
+                        ZonedDateTime.now().format(DateTimeFormatter.ISO_INSTANT)))
+                .collect(Collectors.toList());
+        BatchResult<BookModel, BookModel> result = books.createAll(newBooks);
+
+        assertEquals(newBooks.size(), result.size());
+        Assertions.assertTrue(result.isAllSucceeded(), "Failed items: " + result.getFailed().size());
+        for (BatchResult.Item<BookModel, BookModel> item : result.getItems()) {
+            assertEquals(item.getInput().title, item.getResponse().getBody().title);
+        }
+    }
+
+    @DisplayName("Compact snapshot holds the same books as get all")
+    @Story("Books snapshot")
+    @Test
+    void snapshotMatchesGetAll() throws IOException, InterruptedException {
+        List<BookModel> all = books.getAll().getBody();
+        BookSnapshot snapshot = BookSnapshot.fetch(books);
+
+        assertEquals(all.size(), snapshot.size());
+        for (BookModel expected : all) {
+            BookModel actual = snapshot.get(expected.id);
+            Assertions.assertNotNull(actual, "Missing book " + expected.id);
+            assertEquals(expected.title, actual.title);
+            assertEquals(expected.description, actual.description);
+            assertEquals(expected.pageCount, actual.pageCount);
+            assertEquals(expected.excerpt, actual.excerpt);
+        }
+    }
+
+    @DisplayName("Change detection reports no changes between identical polls")
+    @Story("Books change detection")
+    @Test
+    void changeDetectionBetweenPolls() throws IOException, InterruptedException {
+        ChangeDetector detector = new ChangeDetector("/api/v1/Books");
+
+        ChangeSet baseline = detector.update(books.getAll());
+        ChangeSet second = detector.update(books.getAll());
+
+        Assertions.assertTrue(baseline.isBaseline());
+        assertEquals(detector.size(), baseline.getAdded().length);
+        Assertions.assertFalse(second.hasChanges(), second.toString());
+        assertEquals(detector.size(), second.getUnchanged());
+    }
 }
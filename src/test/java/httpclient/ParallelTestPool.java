@@ -0,0 +1,73 @@
+package httpclient;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Pool sizing for the {@code parallel} profile, selected with {@code test.parallel.pool}: {@code fixed:N} runs
+ * at most N tests at once, {@code virtual} runs up to {@code test.parallel.virtual.max} (default 256).
+ * <p>
+ * JUnit 5.10 always runs tests on its own {@code ForkJoinPool}, so {@code virtual} is the I/O-bound setting rather
+ * than real virtual threads: one carrier per waiting test, which is what the tests need since they mostly block
+ * on HTTP responses.
+ */
+public class ParallelTestPool implements ParallelExecutionConfigurationStrategy {
+
+    private static final int KEEP_ALIVE_SECONDS = 30;
+    private static final int MAX_COMPENSATION = 256;
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters parameters) {
+        String pool = parameters.get("test.parallel.pool").orElse("fixed:" + Runtime.getRuntime().availableProcessors());
+        int parallelism;
+        if (pool.equals("virtual")) {
+            parallelism = parameters.get("test.parallel.virtual.max", Integer::parseInt).orElse(256);
+        } else if (pool.startsWith("fixed:")) {
+            parallelism = Integer.parseInt(pool.substring("fixed:".length()).trim());
+        } else {
+            throw new IllegalArgumentException("Unknown test.parallel.pool: " + pool);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("test.parallel.pool needs at least one thread: " + pool);
+        }
+        return new Configuration(parallelism);
+    }
+
+    private record Configuration(int parallelism) implements ParallelExecutionConfiguration {
+
+        @Override
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMinimumRunnable() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMaxPoolSize() {
+            return parallelism + MAX_COMPENSATION;
+        }
+
+        @Override
+        public int getCorePoolSize() {
+            return parallelism;
+        }
+
+        @Override
+        public int getKeepAliveSeconds() {
+            return KEEP_ALIVE_SECONDS;
+        }
+
+        @Override
+        public Predicate<? super ForkJoinPool> getSaturatePredicate() {
+            // once the pool is full a blocked test waits instead of failing
+            return pool -> true;
+        }
+    }
+}
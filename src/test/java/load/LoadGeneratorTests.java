@@ -0,0 +1,78 @@
+package load;
+
+import com.sun.net.httpserver.HttpServer;
+import core.http.ClientExecutors;
+import core.http.JsonCodec;
+import core.http.RestClient;
+import core.http.cache.ResponseCache;
+import core.http.ratelimit.RateLimiter;
+import core.http.replay.HttpArchive;
+import core.http.resilience.Resilience;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import services.AuthorsService;
+import services.BooksService;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoadGeneratorTests {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+    private RestClient client;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+        client = new RestClient("http://127.0.0.1:" + server.getAddress().getPort(), ClientExecutors.shared(),
+                JsonCodec.getDefault(), Resilience.disabled(), ResponseCache.DISABLED, RateLimiter.DISABLED, HttpArchive.OFF);
+    }
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+    }
+
+    @DisplayName("Requests still running after the drain timeout are reported as TIMEOUT")
+    @Test
+    void unfinishedRequestsAreRecorded() {
+        LoadProfile profile = new LoadProfile(50, Duration.ofMillis(200), Map.of(Operation.BOOKS_GET_ALL, 1));
+
+        LoadReport report = new LoadGenerator(new BooksService(client), new AuthorsService(client), profile)
+                .run(Duration.ofMillis(100));
+
+        assertTrue(report.requestsSent > 0);
+        assertEquals(report.requestsSent, report.requestsUnfinished);
+        assertEquals(1, report.operations.size());
+        LoadReport.OperationStats timeouts = report.operations.get(0);
+        assertEquals("TIMEOUT", timeouts.status);
+        assertEquals(report.requestsSent, timeouts.count);
+        assertTrue(timeouts.maxMs >= 100, "latency runs to the end of the drain");
+    }
+}
@@ -0,0 +1,135 @@
+package snapshot;
+
+import core.http.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChangeDetectorTests {
+
+    private final ChangeDetector detector = new ChangeDetector("/api/v1/Books");
+
+    private ChangeSet update(String json) throws IOException {
+        return detector.update(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @DisplayName("First poll is a baseline with every entity added")
+    @Test
+    void firstPollIsBaseline() throws IOException {
+        ChangeSet changes = update("[{\"id\":1,\"title\":\"a\"},{\"id\":2,\"title\":\"b\"}]");
+
+        assertTrue(changes.isBaseline());
+        assertArrayEquals(new int[]{1, 2}, changes.getAdded());
+        assertEquals(2, detector.size());
+    }
+
+    @DisplayName("Added, changed, removed and unchanged entities are told apart")
+    @Test
+    void reportsEachKindOfChange() throws IOException {
+        List<ChangeEvent> events = new ArrayList<>();
+        update("[{\"id\":1,\"title\":\"a\"},{\"id\":2,\"title\":\"b\"},{\"id\":3,\"title\":\"c\"}]");
+        detector.addListener(events::add);
+
+        ChangeSet changes = update("[{\"id\":1,\"title\":\"a\"},{\"id\":2,\"title\":\"B\"},{\"id\":4,\"title\":\"d\"}]");
+
+        assertFalse(changes.isBaseline());
+        assertArrayEquals(new int[]{4}, changes.getAdded());
+        assertArrayEquals(new int[]{2}, changes.getChanged());
+        assertArrayEquals(new int[]{3}, changes.getRemoved());
+        assertEquals(1, changes.getUnchanged());
+        assertEquals(3, events.size());
+        assertEquals(ChangeEvent.Kind.CHANGED, events.get(0).getKind());
+        assertEquals(ChangeEvent.Kind.ADDED, events.get(1).getKind());
+        assertEquals(ChangeEvent.Kind.REMOVED, events.get(2).getKind());
+    }
+
+    @DisplayName("Nested values and field order are part of the hash")
+    @Test
+    void hashesNestedValuesAndFieldOrder() throws IOException {
+        update("[{\"id\":1,\"tags\":{\"a\":[1,2]}},{\"id\":2,\"a\":1,\"b\":2}]");
+
+        ChangeSet changes = update("[{\"id\":1,\"tags\":{\"a\":[1,3]}},{\"id\":2,\"b\":2,\"a\":1}]");
+
+        assertArrayEquals(new int[]{1, 2}, changes.getChanged());
+    }
+
+    @DisplayName("A duplicated id keeps its first occurrence and is not reported as changed")
+    @Test
+    void duplicateIdsKeepFirstOccurrence() throws IOException {
+        String json = "[{\"id\":1,\"title\":\"a\"},{\"id\":1,\"title\":\"other\"}]";
+        ChangeSet baseline = update(json);
+
+        ChangeSet changes = update(json);
+
+        assertEquals(1, baseline.getDuplicateIds());
+        assertEquals(1, changes.getDuplicateIds());
+        assertFalse(changes.hasChanges(), changes.toString());
+        assertEquals(1, changes.getUnchanged());
+    }
+
+    @DisplayName("Elements without an int id are counted and skipped")
+    @Test
+    void skipsElementsWithoutIntId() throws IOException {
+        ChangeSet changes = update("[{\"title\":\"a\"},{\"id\":\"7\"},{\"id\":3000000000},{\"nested\":{\"id\":5}},{\"id\":9}]");
+
+        assertEquals(4, changes.getWithoutId());
+        assertArrayEquals(new int[]{9}, changes.getAdded());
+    }
+
+    @DisplayName("An empty array removes everything")
+    @Test
+    void emptyArrayRemovesEverything() throws IOException {
+        update("[{\"id\":1},{\"id\":2}]");
+
+        ChangeSet changes = update("[]");
+
+        assertEquals(2, changes.getRemoved().length);
+        assertEquals(0, detector.size());
+    }
+
+    @DisplayName("Input that is not an array of objects is rejected")
+    @Test
+    void rejectsMalformedInput() {
+        assertThrows(IOException.class, () -> update("{\"id\":1}"));
+        assertThrows(IOException.class, () -> update("[1,2]"));
+        assertThrows(IOException.class, () -> update("[{\"id\":1}"));
+    }
+
+    @DisplayName("A truncated poll fires no events and a retry still reports the changes")
+    @Test
+    void truncatedPollFiresNothing() throws IOException {
+        List<ChangeEvent> events = new ArrayList<>();
+        update("[{\"id\":1,\"title\":\"a\"},{\"id\":2,\"title\":\"b\"}]");
+        detector.addListener(events::add);
+
+        assertThrows(IOException.class, () -> update("[{\"id\":1,\"title\":\"A\"},{\"id\":3,\"title\":\"c\"},{\"id\":"));
+        assertTrue(events.isEmpty());
+        assertEquals(2, detector.size());
+
+        ChangeSet changes = update("[{\"id\":1,\"title\":\"A\"},{\"id\":3,\"title\":\"c\"}]");
+
+        assertArrayEquals(new int[]{3}, changes.getAdded());
+        assertArrayEquals(new int[]{1}, changes.getChanged());
+        assertArrayEquals(new int[]{2}, changes.getRemoved());
+        assertEquals(3, events.size());
+    }
+
+    @DisplayName("Responses without a raw body are rejected")
+    @Test
+    void rejectsResponseWithoutRawBody() {
+        Response<Object> response = new Response<>(200, (Object) null);
+
+        assertThrows(IllegalArgumentException.class, () -> detector.update(response));
+    }
+}
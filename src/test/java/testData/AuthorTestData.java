@@ -29,7 +29,7 @@ public class AuthorTestData {
 
     public static Stream<AuthorsModel> positivePostData() throws IOException {
         return JsonDataLoader.loadFromJson("/author_post_positive_data.json", new TypeReference<List<AuthorsModel>>() {
-        });
+        }).peek(author -> author.id = TestIds.next());
     }
 
     public static Stream<AuthorsModel> negativePostData() throws IOException {
@@ -51,4 +51,8 @@ public class AuthorTestData {
         return JsonDataLoader.loadFromJson("/author_delete_negative_data.json", new TypeReference<List<GetAuthorPositiveNegativeCase>>() {
         });
     }
+
+    public static Stream<AuthorsModel> generatedPostData() {
+        return TestDataGenerator.fromConfig().authors();
+    }
 }
@@ -24,7 +24,10 @@ public class BookTestData {
 
     public static Stream<BookModel> positivePostData() throws IOException {
         return JsonDataLoader.loadFromJson("/book_post_positive_data.json", new TypeReference<List<BookModel>>() {
-        }).peek(book -> book.publishDate = ZonedDateTime.now().format(DateTimeFormatter.ISO_INSTANT));
+        }).peek(book -> {
+            book.id = TestIds.next();
+            book.publishDate = ZonedDateTime.now().format(DateTimeFormatter.ISO_INSTANT);
+        });
     }
 
     public static Stream<BookModel> positivePutData() throws IOException {
@@ -51,4 +54,12 @@ public class BookTestData {
         return JsonDataLoader.loadFromJson("/book_delete_negative_data.json", new TypeReference<List<GetBookPositiveNegativeCase>>() {
         });
     }
+
+    public static Stream<BookModel> generatedPostData() {
+        return TestDataGenerator.fromConfig().books();
+    }
+
+    public static Stream<GetBookPositiveNegativeCase> generatedGetData() {
+        return TestDataGenerator.fromConfig().getBookCases();
+    }
 }
@@ -1,21 +1,188 @@
 package testData;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
+import java.io.BufferedInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
 
+/**
+ * Streams the elements of a JSON array file into parameterized tests.
+ * <p>
+ * Elements are parsed one at a time with a {@link MappingIterator}, so a dataset of any size never sits in memory
+ * as a whole. Plain files of at most {@code test.data.cache.maxBytes} (default 1 MB) are tokenized once and replayed
+ * from the cached tokens on later calls; every call still gets fresh objects, so tests may modify what they receive.
+ * The name is looked up on the classpath first, then on disk. Names ending in {@code .gz} are decompressed on the
+ * fly and never cached, since their inflated size is unknown; large plain files on disk are memory-mapped.
+ */
 public class JsonDataLoader {
 
     private static final ObjectMapper mapper = new ObjectMapper();
+    private static final long CACHE_MAX_BYTES = Long.getLong("test.data.cache.maxBytes", 1024 * 1024);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final ConcurrentMap<String, TokenBuffer> cache = new ConcurrentHashMap<>();
 
     public static <T> Stream<T> loadFromJson(String fileName, TypeReference<List<T>> type) throws IOException {
-        try (InputStream inputStream = BookTestData.class.getResourceAsStream(fileName)) {
-            List<T> data = mapper.readValue(inputStream, type);
-            return data.stream();
+        return stream(fileName, mapper.getTypeFactory().constructType(type).getContentType());
+    }
+
+    public static <T> Stream<T> stream(String fileName, Class<T> type) throws IOException {
+        return stream(fileName, mapper.constructType(type));
+    }
+
+    private static <T> Stream<T> stream(String fileName, JavaType elementType) throws IOException {
+        TokenBuffer tokens = cache.get(fileName);
+        if (tokens != null) {
+            return elements(tokens.asParser(mapper), elementType);
+        }
+        Source source = Source.of(fileName);
+        if (source.size < 0 || source.size > CACHE_MAX_BYTES || source.isGzip()) {
+            return elements(mapper.createParser(source.open()), elementType);
+        }
+        try {
+            tokens = cache.computeIfAbsent(fileName, name -> tokenize(source));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return elements(tokens.asParser(mapper), elementType);
+    }
+
+    private static TokenBuffer tokenize(Source source) {
+        try (JsonParser parser = mapper.createParser(source.open())) {
+            parser.nextToken();
+            TokenBuffer tokens = new TokenBuffer(parser);
+            tokens.copyCurrentStructure(parser);
+            return tokens;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> Stream<T> elements(JsonParser parser, JavaType elementType) throws IOException {
+        MappingIterator<T> iterator;
+        try {
+            JsonToken first = parser.nextToken();
+            if (first != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of test cases but got " + first);
+            }
+            // leave the parser inside the array so the iterator reads its elements, not the array itself
+            parser.clearCurrentToken();
+            iterator = mapper.readerFor(elementType).readValues(parser);
+        } catch (IOException e) {
+            parser.close();
+            throw e;
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        iterator.close();
+                        parser.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private static final class Source {
+
+        private final String name;
+        private final URL resource;
+        private final Path file;
+        private final long size;
+
+        private Source(String name, URL resource, Path file, long size) {
+            this.name = name;
+            this.resource = resource;
+            this.file = file;
+            this.size = size;
+        }
+
+        static Source of(String name) throws IOException {
+            URL resource = JsonDataLoader.class.getResource(name);
+            Path file = null;
+            if (resource == null) {
+                file = Path.of(name);
+                if (!Files.isRegularFile(file)) {
+                    throw new FileNotFoundException("Test data not found on the classpath or disk: " + name);
+                }
+            } else if ("file".equals(resource.getProtocol())) {
+                try {
+                    file = Path.of(resource.toURI());
+                } catch (URISyntaxException e) {
+                    throw new IOException(e);
+                }
+            }
+            return new Source(name, resource, file, file == null ? -1 : Files.size(file));
+        }
+
+        InputStream open() throws IOException {
+            InputStream raw;
+            if (file == null) {
+                raw = new BufferedInputStream(resource.openStream(), BUFFER_SIZE);
+            } else if (size > CACHE_MAX_BYTES && size <= Integer.MAX_VALUE && !isGzip()) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    raw = new MappedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+                }
+            } else {
+                raw = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+            }
+            return isGzip() ? new GZIPInputStream(raw, BUFFER_SIZE) : raw;
+        }
+
+        private boolean isGzip() {
+            return name.endsWith(".gz");
+        }
+    }
+
+    private static final class MappedInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        MappedInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
         }
     }
 }
@@ -0,0 +1,283 @@
+package testData;
+
+import configs.ConfigLoader;
+import model.AuthorsModel;
+import model.BookModel;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Seeded generator of books, authors and get-by-id cases for scale and payload-size tests.
+ * <p>
+ * Element {@code i} depends only on the seed and {@code i}, so a run is reproducible, streams are lazy and can be
+ * split in parallel, and nothing is kept between elements. Text fields are cut from one shared character pool,
+ * which costs a single {@code String} allocation per field. Every {@code boundaryEvery}-th element is a boundary
+ * case (empty, single-character and maximum-length text, zero and maximum page counts, epoch and far-future dates),
+ * cycled in a fixed order.
+ * <p>
+ * Generated ids start at {@code test.data.firstId}, above the seeded data and the {@link TestIds} ranges.
+ * Configured from {@code test.data.*} in {@code application.properties}, with system properties taking precedence.
+ */
+public final class TestDataGenerator {
+
+    private static final char[] POOL = pool();
+    private static final Instant BASE_DATE = Instant.parse("2024-01-01T00:00:00Z");
+    private static final int BOUNDARY_KINDS = 8;
+
+    private final long seed;
+    private final int count;
+    private final int firstId;
+    private final int seededBooks;
+    private final SizeDistribution titleLength;
+    private final SizeDistribution textLength;
+    private final int boundaryEvery;
+
+    public TestDataGenerator(long seed, int count, int firstId, int seededBooks, SizeDistribution titleLength,
+                             SizeDistribution textLength, int boundaryEvery) {
+        if ((long) firstId + count - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("test.data.firstId " + firstId + " + test.data.count " + count
+                    + " overflows int ids");
+        }
+        this.seed = seed;
+        this.count = count;
+        this.firstId = firstId;
+        this.seededBooks = seededBooks;
+        this.titleLength = titleLength;
+        this.textLength = textLength;
+        this.boundaryEvery = boundaryEvery;
+    }
+
+    public static TestDataGenerator fromConfig() {
+        return new TestDataGenerator(
+                ConfigLoader.getLong("test.data.seed", 42),
+                ConfigLoader.getInt("test.data.count", 25),
+                ConfigLoader.getInt("test.data.firstId", 1_500_000_000),
+                ConfigLoader.getInt("test.data.seededBooks", 200),
+                SizeDistribution.parse(ConfigLoader.getProperty("test.data.titleLength"), SizeDistribution.uniform(1, 120)),
+                SizeDistribution.parse(ConfigLoader.getProperty("test.data.textLength"), SizeDistribution.logNormal(300, 1.0, 20_000)),
+                ConfigLoader.getInt("test.data.boundaryEvery", 10));
+    }
+
+    public Stream<BookModel> books() {
+        return IntStream.range(0, count).mapToObj(this::book);
+    }
+
+    public Stream<AuthorsModel> authors() {
+        return IntStream.range(0, count).mapToObj(this::author);
+    }
+
+    /**
+     * Get-by-id cases: ids of seeded books expect 200 and their seeded title, and ids that cannot exist
+     * (zero, negative, far beyond the seeded range) expect 404.
+     */
+    public Stream<BookTestData.GetBookPositiveNegativeCase> getBookCases() {
+        return IntStream.range(0, count).mapToObj(this::getBookCase);
+    }
+
+    public BookModel book(int index) {
+        SeededRandom random = new SeededRandom(seed, index);
+        int id = firstId + index;
+        if (isBoundary(index)) {
+            return boundaryBook(id, boundaryKind(index), random);
+        }
+        return new BookModel(id,
+                text(random, titleLength.sample(random)),
+                text(random, textLength.sample(random)),
+                1 + random.nextInt(5_000),
+                text(random, textLength.sample(random)),
+                date(random.nextInt(36_500)));
+    }
+
+    public AuthorsModel author(int index) {
+        SeededRandom random = new SeededRandom(seed, index);
+        int id = firstId + index;
+        int idBook = 1 + random.nextInt(seededBooks);
+        if (isBoundary(index)) {
+            switch (boundaryKind(index)) {
+                case 0:
+                    return new AuthorsModel(id, idBook, "", "");
+                case 1:
+                    return new AuthorsModel(id, idBook, text(random, 1), text(random, 1));
+                case 2:
+                    return new AuthorsModel(id, idBook, text(random, titleLength.max()), text(random, titleLength.max()));
+                case 3:
+                    return new AuthorsModel(id, 1, "Zoë", "Ñúñez-Øberg");
+                default:
+                    return new AuthorsModel(id, seededBooks, text(random, 2), text(random, 2));
+            }
+        }
+        return new AuthorsModel(id, idBook, text(random, titleLength.sample(random)), text(random, titleLength.sample(random)));
+    }
+
+    public BookTestData.GetBookPositiveNegativeCase getBookCase(int index) {
+        SeededRandom random = new SeededRandom(seed, index);
+        BookTestData.GetBookPositiveNegativeCase testCase = new BookTestData.GetBookPositiveNegativeCase();
+        if (isBoundary(index)) {
+            int[] ids = {0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 1, seededBooks, seededBooks + 1, -seededBooks};
+            testCase.id = ids[boundaryKind(index)];
+        } else {
+            testCase.id = random.nextInt(4) == 0 ? seededBooks + 1 + random.nextInt(1_000_000) : 1 + random.nextInt(seededBooks);
+        }
+        boolean exists = testCase.id >= 1 && testCase.id <= seededBooks;
+        testCase.expectedStatus = exists ? 200 : 404;
+        testCase.expectedTitle = exists ? "Book " + testCase.id : "Not Found";
+        return testCase;
+    }
+
+    private BookModel boundaryBook(int id, int kind, SeededRandom random) {
+        switch (kind) {
+            case 0:
+                return new BookModel(id, "", "", 0, "", date(0));
+            case 1:
+                return new BookModel(id, text(random, 1), text(random, 1), 1, text(random, 1), date(1));
+            case 2:
+                return new BookModel(id, text(random, titleLength.max()), text(random, textLength.max()), Integer.MAX_VALUE,
+                        text(random, textLength.max()), date(36_500));
+            case 3:
+                return new BookModel(id, "Zoë & Ñúñez: «Ünïcödé» 📚", "Ωμέγα — 日本語", 7, "…", date(3));
+            case 4:
+                return new BookModel(id, text(random, 10), null, 100, null, date(4));
+            case 5:
+                return new BookModel(id, null, text(random, 10), 100, text(random, 10), date(5));
+            case 6:
+                return new BookModel(id, text(random, 10), text(random, 10), 100, text(random, 10), "1970-01-01T00:00:00Z");
+            default:
+                return new BookModel(id, text(random, 10), text(random, 10), 100, text(random, 10), "9999-12-31T23:59:59Z");
+        }
+    }
+
+    private boolean isBoundary(int index) {
+        return boundaryEvery > 0 && index % boundaryEvery == 0;
+    }
+
+    private int boundaryKind(int index) {
+        return (index / boundaryEvery) % BOUNDARY_KINDS;
+    }
+
+    private static String text(SeededRandom random, int length) {
+        if (length <= 0) {
+            return "";
+        }
+        if (length > POOL.length) {
+            return String.valueOf(POOL).repeat(length / POOL.length + 1).substring(0, length);
+        }
+        return new String(POOL, random.nextInt(POOL.length - length + 1), length);
+    }
+
+    private static String date(int daysBack) {
+        return BASE_DATE.minus(daysBack, ChronoUnit.DAYS).toString();
+    }
+
+    private static char[] pool() {
+        String words = "lorem ipsum dolor sit amet consectetur adipiscing elit sed do eiusmod tempor incididunt ut labore "
+                + "et dolore magna aliqua ut enim ad minim veniam quis nostrud exercitation ullamco laboris nisi aliquip ";
+        return words.repeat(64 * 1024 / words.length() + 1).substring(0, 64 * 1024).toCharArray();
+    }
+
+    /**
+     * Length of generated text fields: {@code fixed:N}, {@code uniform:MIN-MAX} or {@code lognormal:MEDIAN,SIGMA,MAX}.
+     */
+    public interface SizeDistribution {
+
+        int sample(SeededRandom random);
+
+        int max();
+
+        static SizeDistribution fixed(int length) {
+            return new SizeDistribution() {
+                @Override
+                public int sample(SeededRandom random) {
+                    return length;
+                }
+
+                @Override
+                public int max() {
+                    return length;
+                }
+            };
+        }
+
+        static SizeDistribution uniform(int min, int max) {
+            return new SizeDistribution() {
+                @Override
+                public int sample(SeededRandom random) {
+                    return min + random.nextInt(max - min + 1);
+                }
+
+                @Override
+                public int max() {
+                    return max;
+                }
+            };
+        }
+
+        static SizeDistribution logNormal(int median, double sigma, int max) {
+            return new SizeDistribution() {
+                @Override
+                public int sample(SeededRandom random) {
+                    return (int) Math.min(max, Math.round(median * Math.exp(sigma * random.nextGaussian())));
+                }
+
+                @Override
+                public int max() {
+                    return max;
+                }
+            };
+        }
+
+        static SizeDistribution parse(String spec, SizeDistribution defaultValue) {
+            if (spec == null || spec.isBlank()) {
+                return defaultValue;
+            }
+            String[] kind = spec.trim().split(":", 2);
+            if (kind.length == 2) {
+                switch (kind[0]) {
+                    case "fixed":
+                        return fixed(Integer.parseInt(kind[1].trim()));
+                    case "uniform":
+                        String[] range = kind[1].split("-");
+                        return uniform(Integer.parseInt(range[0].trim()), Integer.parseInt(range[1].trim()));
+                    case "lognormal":
+                        String[] params = kind[1].split(",");
+                        return logNormal(Integer.parseInt(params[0].trim()), Double.parseDouble(params[1].trim()),
+                                Integer.parseInt(params[2].trim()));
+                    default:
+                        break;
+                }
+            }
+            throw new IllegalArgumentException("Invalid size distribution: " + spec);
+        }
+    }
+
+    /**
+     * SplitMix64 seeded from the generator seed and element index; small enough to be scalar-replaced by the JIT.
+     */
+    public static final class SeededRandom {
+
+        private long state;
+
+        SeededRandom(long seed, int index) {
+            this.state = seed * 0x9E3779B97F4A7C15L + index;
+        }
+
+        private long nextLong() {
+            long z = (state += 0x9E3779B97F4A7C15L);
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+
+        public int nextInt(int bound) {
+            return (int) ((nextLong() >>> 33) % bound);
+        }
+
+        public double nextGaussian() {
+            double u1 = ((nextLong() >>> 11) + 1) * 0x1.0p-53;
+            double u2 = (nextLong() >>> 11) * 0x1.0p-53;
+            return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package testData;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ids for entities a test creates. They start above the seeded ranges, and each JVM gets its own block of
+ * {@code RANGE} ids, so tests running in parallel never write to the same id or to a seeded entity.
+ * <p>
+ * Surefire forks take the block of their fork number ({@code test.fork}, set from {@code surefire.forkNumber}),
+ * which is unique among concurrent forks. A JVM started without it, e.g. from an IDE, picks a random block
+ * above the ones reserved for forks.
+ */
+public final class TestIds {
+
+    private static final int RANGE = 1_000_000;
+    private static final int FORK_BLOCKS = 100;
+    private static final int BLOCKS = 1000;
+    private static final int BASE = RANGE * block();
+    private static final AtomicInteger NEXT = new AtomicInteger(BASE);
+
+    private TestIds() {
+    }
+
+    public static int next() {
+        int id = NEXT.getAndIncrement();
+        if (id >= BASE + RANGE) {
+            throw new IllegalStateException("Test id range exhausted");
+        }
+        return id;
+    }
+
+    private static int block() {
+        try {
+            int fork = Integer.parseInt(System.getProperty("test.fork", ""));
+            if (fork >= 1 && fork < FORK_BLOCKS) {
+                return fork;
+            }
+        } catch (NumberFormatException e) {
+            // not a surefire fork
+        }
+        return FORK_BLOCKS + new SecureRandom().nextInt(BLOCKS - FORK_BLOCKS + 1);
+    }
+}